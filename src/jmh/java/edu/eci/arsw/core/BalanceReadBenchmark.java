@@ -0,0 +1,70 @@
+package edu.eci.arsw.core;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read-heavy mix: 7 threads reading balances while 1 thread transfers among the same accounts.
+ * "optimistic" reads with balance() (optimistic stamp, retry on overlap) against transferOptimistic writers;
+ * "locked" is the pessimistic way to get a consistent read, taking the account's ReentrantLock, against
+ * transferOrdered writers. Scores are per-group-method throughput.
+ *
+ * java -jar target/benchmarks.jar BalanceReadBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseG1GC"})
+@State(Scope.Group)
+public class BalanceReadBenchmark {
+  @Param({"2", "64"})
+  public int accounts;
+
+  private Workload workload;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    workload = new Workload(accounts, "uniform", 0);
+  }
+
+  @Benchmark @Group("optimistic") @GroupThreads(7)
+  public long optimisticRead() {
+    return workload.accounts[workload.nextIndex(ThreadLocalRandom.current())].balance();
+  }
+
+  @Benchmark @Group("optimistic") @GroupThreads(1)
+  public void optimisticWrite() {
+    BankAccount[] p = workload.nextPair(ThreadLocalRandom.current());
+    TransferService.transferOptimistic(p[0], p[1], 1);
+  }
+
+  @Benchmark @Group("locked") @GroupThreads(7)
+  public long lockedRead() {
+    BankAccount acc = workload.accounts[workload.nextIndex(ThreadLocalRandom.current())];
+    acc.lock().lock();
+    try { return acc.balance(); }
+    finally { acc.lock().unlock(); }
+  }
+
+  @Benchmark @Group("locked") @GroupThreads(1)
+  public void lockedWrite() {
+    BankAccount[] p = workload.nextPair(ThreadLocalRandom.current());
+    TransferService.transferOrdered(p[0], p[1], 1);
+  }
+}
@@ -0,0 +1,86 @@
+package edu.eci.arsw.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A settlement job of 1024 payments: one transferOrdered call per payment
+ * vs transferBatch over chunks of batchSize payments (one ordered lock pass
+ * over the union of accounts per chunk). Scores are payments per microsecond.
+ *
+ * java -jar target/benchmarks.jar BatchTransferBenchmark -t 4
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseG1GC"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class BatchTransferBenchmark {
+  private static final int PAYMENTS = 1024;
+
+  @Param({"64", "4096"})
+  public int accounts;
+
+  @Param({"uniform", "zipf"})
+  public String skew;
+
+  @Param({"16", "256"})
+  public int batchSize;
+
+  private Workload workload;
+
+  @State(Scope.Thread)
+  public static class Job {
+    List<List<Transfer>> chunks;
+    Transfer[] payments;
+
+    @Setup(Level.Iteration)
+    public void build(BatchTransferBenchmark b) {
+      var rnd = ThreadLocalRandom.current();
+      payments = new Transfer[PAYMENTS];
+      for (int i = 0; i < PAYMENTS; i++) {
+        BankAccount[] p = b.workload.nextPair(rnd);
+        payments[i] = new Transfer(p[0], p[1], 1);
+      }
+      chunks = new ArrayList<>();
+      for (int i = 0; i < PAYMENTS; i += b.batchSize)
+        chunks.add(List.of(payments).subList(i, Math.min(PAYMENTS, i + b.batchSize)));
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    workload = new Workload(accounts, skew, 0.99);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PAYMENTS)
+  public void pairwise(Job job) {
+    for (Transfer t : job.payments) TransferService.transferOrdered(t.from(), t.to(), t.amount());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PAYMENTS)
+  public void batched(Job job) {
+    for (List<Transfer> chunk : job.chunks) TransferService.transferBatch(chunk);
+  }
+}
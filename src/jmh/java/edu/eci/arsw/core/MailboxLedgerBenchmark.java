@@ -0,0 +1,85 @@
+package edu.eci.arsw.core;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Shared-account transferOrdered vs the single-writer MailboxLedger on the
+ * same key distribution. Each invocation issues 256 transfers; "mailbox"
+ * posts them and then waits until everything posted so far is settled, so
+ * the score is applied transfers per microsecond, not enqueue rate. The
+ * shard owners are extra threads on top of -t.
+ *
+ * java -jar target/benchmarks.jar MailboxLedgerBenchmark -t 4
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseG1GC"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class MailboxLedgerBenchmark {
+  private static final int OPS = 256;
+
+  @Param({"64", "4096"})
+  public int accounts;
+
+  @Param({"uniform", "zipf"})
+  public String skew;
+
+  @Param({"4"})
+  public int shards;
+
+  private Workload workload;
+  private MailboxLedger ledger;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    workload = new Workload(accounts, skew, 0.99);
+    ledger = new MailboxLedger(accounts, Workload.INITIAL, shards, 4096);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    ledger.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPS)
+  public void ordered() {
+    var rnd = ThreadLocalRandom.current();
+    for (int i = 0; i < OPS; i++) {
+      BankAccount[] p = workload.nextPair(rnd);
+      TransferService.transferOrdered(p[0], p[1], 1);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPS)
+  public void mailbox() {
+    var rnd = ThreadLocalRandom.current();
+    for (int i = 0; i < OPS; i++) {
+      int a = workload.nextIndex(rnd), b;
+      do { b = workload.nextIndex(rnd); } while (b == a);
+      ledger.post(a, b, 1);
+    }
+    ledger.sync();
+  }
+}
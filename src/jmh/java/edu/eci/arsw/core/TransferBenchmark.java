@@ -0,0 +1,81 @@
+package edu.eci.arsw.core;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One transfer per invocation on JMH (platform) threads: throughput plus
+ * per-transfer latency percentiles (SampleTime reports p50/p90/p99/p99.9).
+ * Sweeps account count, skew and strategy; -t sets the thread count.
+ * "naive" runs transferNaiveTimed (naive lock order, bounded waits), so a
+ * deadlock shows up as "timeouts" instead of hanging the run.
+ *
+ * java -jar target/benchmarks.jar TransferBenchmark -t 8
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseG1GC"})
+@Threads(8)
+@State(Scope.Benchmark)
+public class TransferBenchmark {
+  private static final Duration NAIVE_WAIT = Duration.ofMillis(50);
+  private static final Duration TRYLOCK_MAX_WAIT = Duration.ofSeconds(5);
+
+  @Param({"2", "64", "4096"})
+  public int accounts;
+
+  @Param({"uniform", "zipf"})
+  public String skew;
+
+  @Param({"naive", "ordered", "optimistic", "trylock"})
+  public String strategy;
+
+  private Workload workload;
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Failures {
+    public long timeouts;
+
+    @Setup(Level.Iteration)
+    public void reset() { timeouts = 0; }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    workload = new Workload(accounts, skew, 0.99);
+  }
+
+  @Benchmark
+  public void transfer(Failures failures) {
+    BankAccount[] p = workload.nextPair(ThreadLocalRandom.current());
+    try {
+      switch (strategy) {
+        case "naive" -> TransferService.transferNaiveTimed(p[0], p[1], 1, NAIVE_WAIT);
+        case "ordered" -> TransferService.transferOrdered(p[0], p[1], 1);
+        case "optimistic" -> TransferService.transferOptimistic(p[0], p[1], 1);
+        default -> TransferService.transferTryLock(p[0], p[1], 1, TRYLOCK_MAX_WAIT);
+      }
+    } catch (InterruptedException e) {
+      failures.timeouts++;
+    }
+  }
+}
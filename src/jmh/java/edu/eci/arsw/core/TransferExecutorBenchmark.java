@@ -0,0 +1,97 @@
+package edu.eci.arsw.core;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Platform vs virtual threads: each invocation fans a batch of transfers out
+ * to an executor of the chosen kind and waits for all of them, the way the
+ * demos do. Throughput is per transfer (OperationsPerInvocation); SampleTime
+ * gives the batch completion percentiles.
+ *
+ * java -jar target/benchmarks.jar TransferExecutorBenchmark
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseG1GC"})
+@Threads(1)
+@State(Scope.Benchmark)
+public class TransferExecutorBenchmark {
+  private static final int BATCH = 1024;
+  private static final int PLATFORM_THREADS = 8;
+  private static final Duration NAIVE_WAIT = Duration.ofMillis(50);
+  private static final Duration TRYLOCK_MAX_WAIT = Duration.ofSeconds(5);
+
+  @Param({"64", "4096"})
+  public int accounts;
+
+  @Param({"uniform", "zipf"})
+  public String skew;
+
+  @Param({"naive", "ordered", "trylock"})
+  public String strategy;
+
+  @Param({"platform", "virtual"})
+  public String threads;
+
+  private Workload workload;
+  private ExecutorService exec;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    workload = new Workload(accounts, skew, 0.99);
+    exec = "virtual".equals(threads)
+        ? Executors.newVirtualThreadPerTaskExecutor()
+        : Executors.newFixedThreadPool(PLATFORM_THREADS);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    exec.shutdownNow();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void batch() throws InterruptedException {
+    var done = new CountDownLatch(BATCH);
+    for (int i = 0; i < BATCH; i++) {
+      exec.execute(() -> {
+        try {
+          BankAccount[] p = workload.nextPair(ThreadLocalRandom.current());
+          switch (strategy) {
+            case "naive" -> TransferService.transferNaiveTimed(p[0], p[1], 1, NAIVE_WAIT);
+            case "ordered" -> TransferService.transferOrdered(p[0], p[1], 1);
+            default -> TransferService.transferTryLock(p[0], p[1], 1, TRYLOCK_MAX_WAIT);
+          }
+        } catch (InterruptedException e) {
+          // naive/trylock timeout: counted as done, the batch still completes
+        } finally {
+          done.countDown();
+        }
+      });
+    }
+    done.await();
+  }
+}
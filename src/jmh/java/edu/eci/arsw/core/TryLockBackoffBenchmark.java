@@ -0,0 +1,82 @@
+package edu.eci.arsw.core;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * transferTryLock tuning: per-attempt lock wait, backoff bound and overall
+ * maxWait on a hot (zipf) workload. "timeouts" counts transfers that gave up.
+ *
+ * java -jar target/benchmarks.jar TryLockBackoffBenchmark -t 8
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseG1GC"})
+@Threads(8)
+@State(Scope.Benchmark)
+public class TryLockBackoffBenchmark {
+  @Param({"64"})
+  public int accounts;
+
+  @Param({"zipf"})
+  public String skew;
+
+  @Param({"0", "100", "10000"})
+  public long lockWaitMicros;
+
+  @Param({"0", "50", "5000"})
+  public long maxBackoffMicros;
+
+  @Param({"1", "5000"})
+  public long maxWaitMillis;
+
+  private Workload workload;
+  private Duration lockWait;
+  private Duration maxBackoff;
+  private Duration maxWait;
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Failures {
+    public long timeouts;
+
+    @Setup(Level.Iteration)
+    public void reset() { timeouts = 0; }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    workload = new Workload(accounts, skew, 0.99);
+    lockWait = Duration.ofNanos(lockWaitMicros * 1000);
+    maxBackoff = Duration.ofNanos(maxBackoffMicros * 1000);
+    maxWait = Duration.ofMillis(maxWaitMillis);
+  }
+
+  @Benchmark
+  public void transfer(Failures failures) {
+    BankAccount[] p = workload.nextPair(ThreadLocalRandom.current());
+    try {
+      TransferService.transferTryLock(p[0], p[1], 1, maxWait, lockWait, maxBackoff);
+    } catch (InterruptedException e) {
+      failures.timeouts++;
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package edu.eci.arsw.core;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Accounts plus a key distribution for the transfer benchmarks.
+ * "uniform" picks every account equally; "zipf" follows a Zipf(s) law so a
+ * few hot accounts take most of the transfers.
+ */
+final class Workload {
+  static final long INITIAL = 1_000_000_000_000L;
+
+  final BankAccount[] accounts;
+  private final double[] cdf;
+
+  Workload(int n, String skew, double zipfExponent) {
+    accounts = new BankAccount[n];
+    for (int i = 0; i < n; i++) accounts[i] = new BankAccount(i, INITIAL);
+    if ("zipf".equals(skew)) {
+      cdf = new double[n];
+      double sum = 0;
+      for (int i = 0; i < n; i++) { sum += 1.0 / Math.pow(i + 1, zipfExponent); cdf[i] = sum; }
+      for (int i = 0; i < n; i++) cdf[i] /= sum;
+    } else if ("uniform".equals(skew)) {
+      cdf = null;
+    } else {
+      throw new IllegalArgumentException("skew must be uniform|zipf");
+    }
+  }
+
+  int nextIndex(ThreadLocalRandom rnd) {
+    if (cdf == null) return rnd.nextInt(accounts.length);
+    double u = rnd.nextDouble();
+    int lo = 0, hi = cdf.length - 1;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (cdf[mid] < u) lo = mid + 1; else hi = mid;
+    }
+    return lo;
+  }
+
+  /** Two distinct accounts: [from, to]. */
+  BankAccount[] nextPair(ThreadLocalRandom rnd) {
+    int a = nextIndex(rnd);
+    int b;
+    do { b = nextIndex(rnd); } while (b == a);
+    return new BankAccount[] { accounts[a], accounts[b] };
+  }
+
+  long total() {
+    long sum = 0;
+    for (BankAccount acc : accounts) sum += acc.balance();
+    return sum;
+  }
+}
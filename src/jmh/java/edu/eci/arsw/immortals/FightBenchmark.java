@@ -0,0 +1,104 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.eci.arsw.concurrency.EpochGate;
+import edu.eci.arsw.concurrency.PauseController;
+
+/**
+ * Hot path de una pelea: Immortal.fight() sin el sleep de 10 ms, con todos los
+ * hilos de JMH peleando sobre la misma población.
+ *
+ * Barre tamaño de población (contención), modo y fairness del lock; los
+ * hilos se barren con -t (por defecto 4). "hits"/"misses" son peleas que
+ * movieron salud y las que no hicieron nada (en trylock: algún lock ocupado);
+ * misses / (hits + misses) es la fracción de intentos perdidos. La tasa de
+ * asignación sale con -prof gc. naive no se incluye: con más de un hilo se
+ * bloquea (deadlock) y la medición no termina.
+ *
+ * java -jar target/benchmarks.jar FightBenchmark -t 8 -prof gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseG1GC"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class FightBenchmark {
+    // Salud alta y daño 1: nadie muere durante una iteración
+    private static final int HEALTH = 1_000_000;
+    private static final int DAMAGE = 1;
+
+    @Param({"2", "16", "1024"})
+    public int population;
+
+    @Param({"ordered", "trylock", "escrow"})
+    public String mode;
+
+    @Param({"true", "false"})
+    public boolean fair;
+
+    private Immortal[] immortals;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+        public long hits;
+        public long misses;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        var strategy = FightStrategies.resolve(mode);
+        var registry = new AliveRegistry(population);
+        var scoreBoard = new ScoreBoard();
+        var controller = new PauseController();
+        var deadQueue = new ConcurrentLinkedQueue<Immortal>();
+        var gate = new EpochGate();
+        immortals = new Immortal[population];
+        for (int i = 0; i < population; i++) {
+            immortals[i] = new Immortal("bench-" + i, HEALTH, DAMAGE, registry, scoreBoard,
+                    controller, deadQueue, gate, fair, strategy);
+            registry.add(immortals[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean fight(Outcome outcome) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        int a = rnd.nextInt(population);
+        int b = rnd.nextInt(population - 1);
+        if (b >= a)
+            b++;
+        boolean hit = immortals[a].fight(immortals[b]);
+        if (hit)
+            outcome.hits++;
+        else
+            outcome.misses++;
+        return hit;
+    }
+}
@@ -0,0 +1,88 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ImmortalManager de punta a punta: cada iteración arranca una simulación
+ * nueva, y los contadores auxiliares reportan peleas/s y tryLock perdidos/s
+ * de toda la población (el método medido solo muestrea cada 10 ms).
+ *
+ * Barre cantidad, modo, executor, fairness y la razón salud/daño (daño fijo
+ * de 10; con razón 10 mueren muchos durante la iteración, con 100 casi ninguno).
+ *
+ * java -jar target/benchmarks.jar ManagerBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-XX:+UseG1GC"})
+@Threads(1)
+@State(Scope.Benchmark)
+public class ManagerBenchmark {
+    private static final int DAMAGE = 10;
+
+    @Param({"100", "1000"})
+    public int count;
+
+    @Param({"ordered", "trylock", "escrow"})
+    public String mode;
+
+    @Param({"platform", "virtual"})
+    public String executor;
+
+    @Param({"true", "false"})
+    public boolean fair;
+
+    @Param({"10", "100"})
+    public int healthPerDamage;
+
+    private ImmortalManager manager;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rates {
+        public long fights;
+        public long tryLockMisses;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            fights = 0;
+            tryLockMisses = 0;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void start() {
+        manager = new ImmortalManager(count, mode, healthPerDamage * DAMAGE, DAMAGE, executor, fair);
+        manager.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() {
+        manager.stop();
+    }
+
+    @Benchmark
+    public void run(Rates rates) throws InterruptedException {
+        Thread.sleep(10);
+        rates.fights = manager.getTotalFights();
+        rates.tryLockMisses = manager.scoreBoard().tryLockMisses();
+    }
+}
@@ -1,8 +1,12 @@
 package edu.eci.arsw.app;
 
+import edu.eci.arsw.bench.GridBench;
+import edu.eci.arsw.bench.LedgerFootprint;
 import edu.eci.arsw.demos.DeadlockDemo;
+import edu.eci.arsw.demos.NettingSettlementDemo;
 import edu.eci.arsw.demos.OrderedTransferDemo;
 import edu.eci.arsw.demos.TryLockTransferDemo;
+import edu.eci.arsw.immortals.JournalReplay;
 
 public final class Main {
   private Main() {}
@@ -15,17 +19,23 @@ public final class Main {
           case "1" -> DeadlockDemo.run();
           case "2" -> OrderedTransferDemo.run();
           case "3" -> TryLockTransferDemo.run();
-          default -> System.out.println("Use -Ddemo=1|2|3");
+          case "4" -> NettingSettlementDemo.run();
+          default -> System.out.println("Use -Ddemo=1|2|3|4");
         }
       }
       case "immortals", "ui" -> {
         int n = Integer.getInteger("count", 8);
         String fight = System.getProperty("fight", "ordered");
+        String executor = System.getProperty("executor", "platform");
         javax.swing.SwingUtilities.invokeLater(
-          () -> new edu.eci.arsw.highlandersim.ControlFrame(n, fight)
+          () -> new edu.eci.arsw.highlandersim.ControlFrame(n, fight, executor)
         );
       }
-      default -> System.out.println("Use -Dmode=immortals|demos|ui");
+      case "bench" -> System.exit(GridBench.run() ? 0 : 1);
+      case "ledger" -> LedgerFootprint.run();
+      case "replay" -> System.exit(
+        JournalReplay.run(java.nio.file.Path.of(System.getProperty("journal", "fights.journal"))) ? 0 : 1);
+      default -> System.out.println("Use -Dmode=immortals|demos|ui|bench|replay|ledger");
     }
   }
 }
@@ -0,0 +1,64 @@
+package edu.eci.arsw.bench;
+
+import edu.eci.arsw.immortals.ArrayImmortalEngine;
+import edu.eci.arsw.immortals.ImmortalManager;
+
+/**
+ * Object-per-immortal (ImmortalManager) vs struct-of-arrays (ArrayImmortalEngine):
+ * retained heap per immortal and fights/sec over -Dbench.seconds.
+ *
+ * Immortal threads sleep 10 ms per fight, so by default the array engine is paced the same way (each worker pass
+ * lasts at least -Darray.paceMs=10) and both rows run the same workload. -Darray.paceMs=0 measures the array
+ * engine flat out instead; the workload column says which one each row ran.
+ *
+ * mvn -q -DskipTests exec:java -Dexec.mainClass=edu.eci.arsw.bench.FootprintBench -Dcount=100000
+ */
+public final class FootprintBench {
+  private FootprintBench() {}
+
+  public static void run() throws Exception {
+    int n = Integer.getInteger("count", 100_000);
+    int health = Integer.getInteger("health", 100);
+    int damage = Integer.getInteger("damage", 10);
+    String fight = System.getProperty("fight", "ordered");
+    long seconds = Long.getLong("bench.seconds", 5);
+    long paceMs = Long.getLong("array.paceMs", 10);
+
+    // Footprint first, with both models alive so neither measures the other's garbage
+    long before = usedHeap();
+    int cores = Runtime.getRuntime().availableProcessors();
+    var engine = new ArrayImmortalEngine(n, health, damage, cores, 1024, paceMs);
+    double arrayBytes = (usedHeap() - before) / (double) n;
+    before = usedHeap();
+    var manager = new ImmortalManager(n, fight, health, damage, "virtual");
+    double objectBytes = (usedHeap() - before) / (double) n;
+
+    engine.start();
+    Thread.sleep(seconds * 1000);
+    engine.pause();
+    boolean arrayOk = engine.checkInvariant();
+    double arrayRate = engine.fightsPerSecond();
+    engine.stop();
+
+    manager.start();
+    Thread.sleep(seconds * 1000);
+    manager.pause();
+    boolean objectOk = manager.checkInvariant();
+    double objectRate = manager.getTotalFights() * 1000.0 / manager.getSimulationTime();
+    manager.stop();
+
+    String arrayWorkload = paceMs == 0 ? "unpaced" : "paced " + paceMs + "ms/immortal";
+    System.out.println("model,workload,count,bytesPerImmortal,fightsPerSec,invariant");
+    System.out.printf("object,paced 10ms/immortal,%d,%.1f,%.0f,%s%n", n, objectBytes, objectRate, objectOk);
+    System.out.printf("arrays,%s,%d,%.1f,%.0f,%s%n", arrayWorkload, n, arrayBytes, arrayRate, arrayOk);
+    System.out.printf("arrays (analytic),-,%d,%.1f,-,-%n", n, engine.bytesPerImmortal());
+  }
+
+  private static long usedHeap() throws InterruptedException {
+    Runtime rt = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) { System.gc(); Thread.sleep(50); }
+    return rt.totalMemory() - rt.freeMemory();
+  }
+
+  public static void main(String[] args) throws Exception { run(); }
+}
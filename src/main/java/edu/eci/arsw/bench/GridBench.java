@@ -0,0 +1,263 @@
+package edu.eci.arsw.bench;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.eci.arsw.concurrency.AsyncLogger;
+import edu.eci.arsw.concurrency.LatencyHistogram;
+import edu.eci.arsw.concurrency.LockMetrics;
+import edu.eci.arsw.concurrency.Log;
+import edu.eci.arsw.core.BankAccount;
+import edu.eci.arsw.core.TransferService;
+import edu.eci.arsw.immortals.ImmortalManager;
+
+/**
+ * Headless parameter sweep for nightly regression runs (-Dmode=bench).
+ *
+ * Runs ImmortalManager over count x health x damage x fight x executor, and
+ * TransferService over accounts x strategy x executor, each for every
+ * duration in bench.seconds. One row per run with throughput, lock-wait
+ * latency, pause latency and the invariant; written as CSV or JSON. Exit
+ * status is 1 when any invariant fails, so a CI job can gate on it. A pause
+ * that does not reach quiescence counts as a timeout and leaves invariantOk
+ * empty: the total is only exact with everyone parked.
+ *
+ * Grid properties (comma-separated lists):
+ *   bench.counts=1000,10000  bench.health=100  bench.damage=10
+ *   bench.fights=ordered,trylock,escrow  bench.executors=platform,virtual
+ *   bench.accounts=16,1024  bench.strategies=ordered,optimistic,trylock  bench.threads=8
+ *   bench.seconds=5,30  bench.suites=immortals,transfers
+ *   bench.format=csv|json  bench.out=- (stdout) or a file path
+ *
+ * mvn -q -DskipTests exec:java -Dmode=bench -Dbench.seconds=3 -Dbench.format=json -Dbench.out=target/bench.json
+ */
+public final class GridBench {
+  private GridBench() {}
+
+  private static final List<String> COLUMNS = List.of(
+      "suite", "count", "health", "damage", "mode", "executor", "threads", "seconds",
+      "ops", "opsPerSec", "waitP50Micros", "waitP99Micros", "opP50Micros", "opP99Micros",
+      "pauseLatencyMicros", "tryLockFailures", "timeouts", "invariantOk");
+
+  /** @return false if any run broke its invariant */
+  public static boolean run() throws Exception {
+    List<String> suites = list("bench.suites", "immortals,transfers");
+    String format = System.getProperty("bench.format", "csv");
+    String out = System.getProperty("bench.out", "-");
+
+    // Keep the simulation chatter off the report
+    AsyncLogger.Level previous = Log.logger().threshold();
+    Log.logger().setThreshold(AsyncLogger.Level.WARN);
+    List<Map<String, Object>> rows = new ArrayList<>();
+    try {
+      for (int seconds : ints("bench.seconds", "5")) {
+        if (suites.contains("immortals")) {
+          for (int count : ints("bench.counts", "1000,10000"))
+            for (int health : ints("bench.health", "100"))
+              for (int damage : ints("bench.damage", "10"))
+                for (String fight : list("bench.fights", "ordered,trylock,escrow"))
+                  for (String executor : list("bench.executors", "platform,virtual"))
+                    rows.add(runImmortals(count, health, damage, fight, executor, seconds));
+        }
+        if (suites.contains("transfers")) {
+          for (int accounts : ints("bench.accounts", "16,1024"))
+            for (String strategy : list("bench.strategies", "ordered,optimistic,trylock"))
+              for (String executor : list("bench.executors", "platform,virtual"))
+                rows.add(runTransfers(accounts, strategy, executor, Integer.getInteger("bench.threads", 8), seconds));
+        }
+      }
+    } finally {
+      Log.flush();
+      Log.logger().setThreshold(previous);
+    }
+
+    String report = "json".equalsIgnoreCase(format) ? json(rows) : csv(rows);
+    if ("-".equals(out)) {
+      System.out.print(report);
+    } else {
+      write(Path.of(out), report);
+      System.out.println("bench: " + rows.size() + " runs -> " + out);
+    }
+    // A timed-out pause leaves invariantOk null: reported, but not a failure
+    return rows.stream().noneMatch(r -> Boolean.FALSE.equals(r.get("invariantOk")));
+  }
+
+  static Map<String, Object> runImmortals(int count, int health, int damage, String fight, String executor,
+                                          long seconds) throws Exception {
+    LockMetrics.resetAll();
+    var m = new ImmortalManager(count, fight, health, damage, executor);
+    m.start();
+    Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+    long fights = m.getTotalFights();
+    long elapsed = m.getSimulationTime();
+    boolean quiescent = m.pause();
+    long pauseNanos = m.controller().lastPauseLatencyNanos();
+    // Without quiescence someone may still be mid-fight: no verdict rather than a false violation
+    Boolean ok = quiescent ? m.getExpectedTotalHealth() == m.totalHealth() : null;
+    m.stop();
+
+    LockMetrics lm = LockMetrics.of("fight." + fight);
+    Map<String, Object> row = row("immortals");
+    row.put("count", count);
+    row.put("health", health);
+    row.put("damage", damage);
+    row.put("mode", fight);
+    row.put("executor", executor);
+    row.put("threads", count);
+    row.put("seconds", seconds);
+    row.put("ops", fights);
+    row.put("opsPerSec", elapsed <= 0 ? 0.0 : fights * 1000.0 / elapsed);
+    row.put("waitP50Micros", lm.waitNanos().percentile(50) / 1e3);
+    row.put("waitP99Micros", lm.waitNanos().percentile(99) / 1e3);
+    row.put("pauseLatencyMicros", !quiescent || pauseNanos < 0 ? null : pauseNanos / 1e3);
+    row.put("tryLockFailures", m.getTryLockMisses());
+    row.put("timeouts", quiescent ? 0 : 1);
+    row.put("invariantOk", ok);
+    return row;
+  }
+
+  static Map<String, Object> runTransfers(int accounts, String strategy, String executor, int threads,
+                                          long seconds) throws Exception {
+    LockMetrics.resetAll();
+    var accs = new BankAccount[accounts];
+    for (int i = 0; i < accounts; i++) accs[i] = new BankAccount(i, 1_000_000);
+    long expected = 1_000_000L * accounts;
+    var latency = new LatencyHistogram();
+    var ops = new LongAdder();
+    var timeouts = new LongAdder();
+    var running = new AtomicBoolean(true);
+
+    ExecutorService exec = "virtual".equals(executor)
+        ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(threads);
+    long t0 = System.nanoTime();
+    for (int t = 0; t < threads; t++) {
+      exec.submit(() -> {
+        var rnd = ThreadLocalRandom.current();
+        while (running.get()) {
+          int a = rnd.nextInt(accounts);
+          int b = rnd.nextInt(accounts - 1);
+          if (b >= a) b++;
+          long s = System.nanoTime();
+          try {
+            transfer(strategy, accs[a], accs[b]);
+            latency.record(System.nanoTime() - s);
+            ops.increment();
+          } catch (InterruptedException e) {
+            timeouts.increment();
+          } catch (IllegalArgumentException e) {
+            // Insufficient funds: a drained account just skips the transfer
+          }
+        }
+      });
+    }
+    Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+    running.set(false);
+    exec.shutdown();
+    exec.awaitTermination(10, TimeUnit.SECONDS);
+    long elapsed = System.nanoTime() - t0;
+
+    long total = 0;
+    for (BankAccount acc : accs) total += acc.balance();
+    LockMetrics lm = LockMetrics.of("transfer." + strategy);
+    Map<String, Object> row = row("transfers");
+    row.put("count", accounts);
+    row.put("mode", strategy);
+    row.put("executor", executor);
+    row.put("threads", threads);
+    row.put("seconds", seconds);
+    row.put("ops", ops.sum());
+    row.put("opsPerSec", ops.sum() * 1e9 / elapsed);
+    row.put("waitP50Micros", lm.waitNanos().percentile(50) / 1e3);
+    row.put("waitP99Micros", lm.waitNanos().percentile(99) / 1e3);
+    row.put("opP50Micros", latency.percentile(50) / 1e3);
+    row.put("opP99Micros", latency.percentile(99) / 1e3);
+    row.put("tryLockFailures", lm.tryLockFailures());
+    row.put("timeouts", timeouts.sum());
+    row.put("invariantOk", total == expected);
+    return row;
+  }
+
+  private static void transfer(String strategy, BankAccount from, BankAccount to) throws InterruptedException {
+    switch (strategy) {
+      case "ordered" -> TransferService.transferOrdered(from, to, 1);
+      case "optimistic" -> TransferService.transferOptimistic(from, to, 1);
+      case "trylock" -> TransferService.transferTryLock(from, to, 1, java.time.Duration.ofMillis(50));
+      case "naive" -> TransferService.transferNaiveTimed(from, to, 1, java.time.Duration.ofMillis(50));
+      default -> throw new IllegalArgumentException("strategy must be ordered|optimistic|trylock|naive");
+    }
+  }
+
+  private static Map<String, Object> row(String suite) {
+    Map<String, Object> row = new LinkedHashMap<>();
+    for (String c : COLUMNS) row.put(c, null);
+    row.put("suite", suite);
+    return row;
+  }
+
+  static String csv(List<Map<String, Object>> rows) {
+    StringBuilder sb = new StringBuilder(String.join(",", COLUMNS)).append('\n');
+    for (var r : rows) {
+      for (int i = 0; i < COLUMNS.size(); i++) {
+        if (i > 0) sb.append(',');
+        sb.append(value(r.get(COLUMNS.get(i))));
+      }
+      sb.append('\n');
+    }
+    return sb.toString();
+  }
+
+  static String json(List<Map<String, Object>> rows) {
+    StringBuilder sb = new StringBuilder("[\n");
+    for (int k = 0; k < rows.size(); k++) {
+      sb.append("  {");
+      boolean first = true;
+      for (var e : rows.get(k).entrySet()) {
+        if (!first) sb.append(", ");
+        first = false;
+        sb.append('"').append(e.getKey()).append("\": ");
+        Object v = e.getValue();
+        if (v instanceof String) sb.append('"').append(v).append('"');
+        else if (v == null || (v instanceof Double d && !Double.isFinite(d))) sb.append("null");
+        else sb.append(value(v));
+      }
+      sb.append(k + 1 < rows.size() ? "},\n" : "}\n");
+    }
+    return sb.append("]\n").toString();
+  }
+
+  private static String value(Object v) {
+    if (v == null) return "";
+    if (v instanceof Double d) return Double.isFinite(d) ? String.format(Locale.ROOT, "%.2f", d) : "";
+    return v.toString();
+  }
+
+  private static void write(Path path, String text) throws IOException {
+    if (path.getParent() != null) Files.createDirectories(path.getParent());
+    try (var ps = new PrintStream(Files.newOutputStream(path), true, StandardCharsets.UTF_8)) { ps.print(text); }
+  }
+
+  private static List<String> list(String key, String def) {
+    return Arrays.stream(System.getProperty(key, def).split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+  }
+
+  private static int[] ints(String key, String def) {
+    return list(key, def).stream().mapToInt(Integer::parseInt).toArray();
+  }
+
+  public static void main(String[] args) throws Exception { System.exit(run() ? 0 : 1); }
+}
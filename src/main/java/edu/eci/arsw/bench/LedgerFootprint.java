@@ -0,0 +1,125 @@
+package edu.eci.arsw.bench;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+import edu.eci.arsw.core.BankAccount;
+import edu.eci.arsw.core.OffHeapLedger;
+import edu.eci.arsw.core.TransferService;
+
+/**
+ * Memory footprint and GC cost of BankAccount-per-account vs OffHeapLedger (-Dmode=ledger).
+ *
+ * For each model: build ledger.accounts accounts, then report heap retained after a full GC, off-heap bytes,
+ * the wall time of that full GC (tracing the live set), and ledger.seconds of random transfers on ledger.threads
+ * threads with an allocating side load (ledger.churnMB per second, so young collections actually happen) and the
+ * GC count/time they triggered. Run each model in its own JVM for the cleanest numbers (ledger.models=objects or
+ * ledger.models=offheap); direct memory needs -XX:MaxDirectMemorySize at 8 bytes per account.
+ *
+ * mvn -q -DskipTests exec:java -Dmode=ledger -Dledger.accounts=10000000
+ */
+public final class LedgerFootprint {
+  private LedgerFootprint() {}
+
+  public static void run() throws Exception {
+    int accounts = Integer.getInteger("ledger.accounts", 5_000_000);
+    int threads = Integer.getInteger("ledger.threads", 8);
+    long seconds = Long.getLong("ledger.seconds", 5);
+    int churnMB = Integer.getInteger("ledger.churnMB", 200);
+    String models = System.getProperty("ledger.models", "objects,offheap");
+
+    System.out.println("model,accounts,heapRetainedMB,offHeapMB,fullGcMs,opsPerSec,gcCount,gcMs,gcMeanMs,auditOk");
+    for (String model : models.split(",")) {
+      switch (model.trim()) {
+        case "objects" -> {
+          var accs = new BankAccount[accounts];
+          for (int i = 0; i < accounts; i++) accs[i] = new BankAccount(i, 1_000);
+          report("objects", accounts, 0, threads, seconds, churnMB, () -> {
+            var rnd = ThreadLocalRandom.current();
+            int a = rnd.nextInt(accounts), b = rnd.nextInt(accounts);
+            if (a != b) TransferService.transferOrdered(accs[a], accs[b], 1);
+          }, () -> {
+            long t = 0;
+            for (BankAccount acc : accs) t += acc.balance();
+            return t == 1_000L * accounts;
+          });
+        }
+        case "offheap" -> {
+          var ledger = new OffHeapLedger(accounts, 1_000);
+          report("offheap", accounts, ledger.offHeapBytes(), threads, seconds, churnMB, () -> {
+            var rnd = ThreadLocalRandom.current();
+            ledger.transfer(rnd.nextInt(accounts), rnd.nextInt(accounts), 1);
+          }, () -> ledger.audit() == 1_000L * accounts);
+        }
+        default -> throw new IllegalArgumentException("ledger.models must be objects|offheap");
+      }
+      System.gc();
+    }
+  }
+
+  private static void report(String model, int accounts, long offHeap, int threads, long seconds, int churnMB,
+                             Runnable transfer, BooleanSupplier audit) throws Exception {
+    MemoryMXBean mem = ManagementFactory.getMemoryMXBean();
+    System.gc();
+    long t0 = System.nanoTime();
+    System.gc();
+    double fullGcMs = (System.nanoTime() - t0) / 1e6;
+    long heap = mem.getHeapMemoryUsage().getUsed();
+
+    long[] gc0 = gcTotals();
+    var ops = new LongAdder();
+    var running = new AtomicBoolean(true);
+    ExecutorService exec = Executors.newFixedThreadPool(threads + 1);
+    for (int t = 0; t < threads; t++) {
+      exec.submit(() -> {
+        while (running.get()) {
+          try { transfer.run(); ops.increment(); }
+          catch (IllegalArgumentException drained) { /* insufficient funds: skip */ }
+        }
+      });
+    }
+    // Side allocation: short-lived garbage so young GCs run against the live set
+    exec.submit(() -> {
+      long perTick = churnMB * 1024L * 1024 / 100;
+      Object sink = null;
+      while (running.get()) {
+        for (long b = 0; b < perTick; b += 1024) sink = new byte[1024];
+        try { Thread.sleep(10); } catch (InterruptedException e) { return sink; }
+      }
+      return sink;
+    });
+    long start = System.nanoTime();
+    Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+    running.set(false);
+    exec.shutdown();
+    exec.awaitTermination(10, TimeUnit.SECONDS);
+    double elapsed = (System.nanoTime() - start) / 1e9;
+    long[] gc1 = gcTotals();
+    long count = gc1[0] - gc0[0];
+    long gcMs = gc1[1] - gc0[1];
+
+    System.out.printf(Locale.ROOT, "%s,%d,%.1f,%.1f,%.1f,%.0f,%d,%d,%.1f,%s%n", model, accounts, heap / 1048576.0,
+        offHeap / 1048576.0, fullGcMs, ops.sum() / elapsed, count, gcMs, count == 0 ? 0.0 : (double) gcMs / count,
+        audit.getAsBoolean());
+  }
+
+  private static long[] gcTotals() {
+    long count = 0, ms = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      count += Math.max(0, gc.getCollectionCount());
+      ms += Math.max(0, gc.getCollectionTime());
+    }
+    return new long[] { count, ms };
+  }
+
+  public static void main(String[] args) throws Exception { run(); }
+}
@@ -0,0 +1,67 @@
+package edu.eci.arsw.bench;
+
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import edu.eci.arsw.concurrency.PauseController;
+
+/**
+ * Pause-to-quiescence latency of PauseController (p50/p99/max) at 1k, 10k and
+ * 100k workers. Workers run on virtual threads and pace like Immortal.run()
+ * (-Dbench.pacingMs, default 10), so the bound is roughly one pacing period.
+ *
+ * mvn -q -DskipTests exec:java -Dexec.mainClass=edu.eci.arsw.bench.PauseLatencyBench
+ */
+public final class PauseLatencyBench {
+  private PauseLatencyBench() {}
+
+  public static void run() throws Exception {
+    int[] sizes = Arrays.stream(System.getProperty("bench.workers", "1000,10000,100000").split(","))
+        .map(String::trim).mapToInt(Integer::parseInt).toArray();
+    int rounds = Integer.getInteger("bench.rounds", 50);
+    long pacingMs = Long.getLong("bench.pacingMs", 10);
+
+    System.out.println("workers,rounds,p50Micros,p99Micros,maxMicros,timeouts");
+    for (int n : sizes) {
+      var pc = new PauseController();
+      pc.setTotalThreads(n);
+      var running = new AtomicBoolean(true);
+      long[] lat = new long[rounds];
+      int timeouts = 0;
+      try (var exec = Executors.newVirtualThreadPerTaskExecutor()) {
+        for (int i = 0; i < n; i++) {
+          exec.submit(() -> {
+            try {
+              while (running.get()) {
+                pc.awaitIfPaused();
+                Thread.sleep(pacingMs);
+              }
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            } finally {
+              pc.removeThread();
+            }
+          });
+        }
+        Thread.sleep(500);
+        for (int r = 0; r < rounds; r++) {
+          long t0 = System.nanoTime();
+          pc.pause();
+          if (!pc.waitForAllPaused(5000)) timeouts++;
+          lat[r] = System.nanoTime() - t0;
+          pc.resume();
+          Thread.sleep(2 * pacingMs);
+        }
+        running.set(false);
+        pc.forceResume();
+      }
+      Arrays.sort(lat);
+      System.out.printf("%d,%d,%d,%d,%d,%d%n", n, rounds,
+          lat[(int) (rounds * 0.50)] / 1000, lat[Math.min(rounds - 1, (int) (rounds * 0.99))] / 1000,
+          lat[rounds - 1] / 1000, timeouts);
+    }
+  }
+
+  public static void main(String[] args) throws Exception { run(); }
+}
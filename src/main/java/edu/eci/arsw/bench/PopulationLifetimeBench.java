@@ -0,0 +1,49 @@
+package edu.eci.arsw.bench;
+
+import edu.eci.arsw.immortals.ImmortalManager;
+
+/**
+ * Fights/sec over the whole life of a large run: from N immortals down to the
+ * last survivor (or until -Dbench.maxSeconds). Prints one line per second plus
+ * the lifetime average, so a degradation as the population shrinks shows up.
+ *
+ * mvn -q -DskipTests exec:java -Dexec.mainClass=edu.eci.arsw.bench.PopulationLifetimeBench
+ */
+public final class PopulationLifetimeBench {
+  private PopulationLifetimeBench() {}
+
+  public static void run() throws Exception {
+    int n = Integer.getInteger("count", 50_000);
+    int health = Integer.getInteger("health", 100);
+    int damage = Integer.getInteger("damage", 10);
+    String fight = System.getProperty("fight", "ordered");
+    String executor = System.getProperty("executor", "virtual");
+    long maxSeconds = Long.getLong("bench.maxSeconds", 120);
+
+    var m = new ImmortalManager(n, fight, health, damage, executor);
+    long t0 = System.nanoTime();
+    m.start();
+    long lastFights = 0;
+    long lastNanos = t0;
+    System.out.println("second,alive,fights,fightsPerSec");
+    for (int sec = 1; sec <= maxSeconds && m.aliveCount() > 1; sec++) {
+      Thread.sleep(1000);
+      long now = System.nanoTime();
+      long fights = m.getTotalFights();
+      double rate = (fights - lastFights) * 1e9 / (now - lastNanos);
+      System.out.printf("%d,%d,%d,%.0f%n", sec, m.aliveCount(), fights, rate);
+      lastFights = fights;
+      lastNanos = now;
+    }
+    long elapsed = System.nanoTime() - t0;
+    m.pause();
+    boolean ok = m.checkInvariant();
+    long fights = m.getTotalFights();
+    int alive = m.aliveCount();
+    m.stop();
+    System.out.printf("lifetime: %,d fights in %.1f s = %,.0f fights/s | alive=%d | invariant=%s%n",
+        fights, elapsed / 1e9, fights * 1e9 / elapsed, alive, ok);
+  }
+
+  public static void main(String[] args) throws Exception { run(); }
+}
@@ -0,0 +1,230 @@
+package edu.eci.arsw.concurrency;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logger asíncrono por niveles sobre un ring buffer acotado.
+ *
+ * Los hilos que registran solo reservan una casilla con CAS y guardan el
+ * formato y hasta tres argumentos (sin formatear ni tocar System.out); un
+ * único hilo de fondo formatea y escribe por lotes. Si el buffer está lleno
+ * el mensaje se descarta y se cuenta: el hot path nunca se bloquea.
+ *
+ * Cola MPSC al estilo de Vyukov: cada casilla lleva una secuencia que dice
+ * de quién es el turno (productor o consumidor).
+ */
+public final class AsyncLogger implements AutoCloseable {
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR
+    }
+
+    private static final class Slot {
+        volatile long seq;
+        Level level;
+        String format;
+        Object a1, a2, a3;
+        Object[] rest;
+        int argc;
+    }
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Slot[] ring;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Solo los escribe el consumidor: head = próxima casilla a leer,
+    // written = mensajes ya entregados al PrintStream (para flush())
+    private volatile long head;
+    private volatile long written;
+    private final LongAdder dropped = new LongAdder();
+
+    private final PrintStream out;
+    private final PrintStream err;
+    private volatile Level threshold;
+    private volatile boolean closed;
+    private final Thread drainer;
+
+    /**
+     * @param capacity casillas del buffer (se redondea a potencia de 2)
+     */
+    public AsyncLogger(int capacity, Level threshold, PrintStream out, PrintStream err) {
+        int c = capacity <= 1 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.ring = new Slot[c];
+        for (int i = 0; i < c; i++) {
+            ring[i] = new Slot();
+            ring[i].seq = i;
+        }
+        this.mask = c - 1;
+        this.threshold = threshold;
+        this.out = out;
+        this.err = err;
+        this.drainer = new Thread(this::drain, "AsyncLogger");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    public boolean enabled(Level level) {
+        return level.compareTo(threshold) >= 0;
+    }
+
+    public void setThreshold(Level level) {
+        this.threshold = level;
+    }
+
+    public Level threshold() {
+        return threshold;
+    }
+
+    public void log(Level level, String format) {
+        if (enabled(level))
+            publish(level, format, 0, null, null, null, null);
+    }
+
+    public void log(Level level, String format, Object a1) {
+        if (enabled(level))
+            publish(level, format, 1, a1, null, null, null);
+    }
+
+    public void log(Level level, String format, Object a1, Object a2) {
+        if (enabled(level))
+            publish(level, format, 2, a1, a2, null, null);
+    }
+
+    public void log(Level level, String format, Object a1, Object a2, Object a3) {
+        if (enabled(level))
+            publish(level, format, 3, a1, a2, a3, null);
+    }
+
+    // Más de tres argumentos: solo para caminos fríos (asigna el arreglo)
+    public void log(Level level, String format, Object... args) {
+        if (enabled(level))
+            publish(level, format, -1, null, null, null, args);
+    }
+
+    private void publish(Level level, String format, int argc, Object a1, Object a2, Object a3, Object[] rest) {
+        Slot s;
+        long pos;
+        for (;;) {
+            pos = tail.get();
+            s = ring[(int) pos & mask];
+            long seq = s.seq;
+            if (seq == pos) {
+                if (tail.compareAndSet(pos, pos + 1))
+                    break;
+            } else if (seq < pos) {
+                // Lleno: descartar antes que bloquear a un worker
+                dropped.increment();
+                return;
+            }
+        }
+        s.level = level;
+        s.format = format;
+        s.argc = argc;
+        s.a1 = a1;
+        s.a2 = a2;
+        s.a3 = a3;
+        s.rest = rest;
+        s.seq = pos + 1;
+    }
+
+    private void drain() {
+        StringBuilder outBuf = new StringBuilder(4096);
+        StringBuilder errBuf = new StringBuilder(256);
+        int idle = 0;
+        for (;;) {
+            long h = head;
+            Slot s = ring[(int) h & mask];
+            if (s.seq != h + 1) {
+                flushBuffers(outBuf, errBuf, h);
+                if (closed && tail.get() == h)
+                    return;
+                // Sin mensajes: girar un poco y luego dormir hasta 1 ms
+                if (++idle < 64)
+                    Thread.onSpinWait();
+                else
+                    LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(Math.min(1000, idle)));
+                continue;
+            }
+            idle = 0;
+            StringBuilder buf = s.level.compareTo(Level.WARN) >= 0 ? errBuf : outBuf;
+            format(buf, s);
+            s.format = null;
+            s.a1 = s.a2 = s.a3 = null;
+            s.rest = null;
+            s.seq = h + ring.length;
+            head = h + 1;
+            if (outBuf.length() > 8192 || errBuf.length() > 8192)
+                flushBuffers(outBuf, errBuf, h + 1);
+        }
+    }
+
+    private static void format(StringBuilder buf, Slot s) {
+        if (s.level != Level.INFO)
+            buf.append(s.level).append(' ');
+        try {
+            buf.append(switch (s.argc) {
+                case 0 -> s.format;
+                case 1 -> String.format(s.format, s.a1);
+                case 2 -> String.format(s.format, s.a1, s.a2);
+                case 3 -> String.format(s.format, s.a1, s.a2, s.a3);
+                default -> String.format(s.format, s.rest == null ? NO_ARGS : s.rest);
+            });
+        } catch (RuntimeException e) {
+            buf.append(s.format).append(" [formato inválido: ").append(e).append(']');
+        }
+        buf.append('\n');
+    }
+
+    private void flushBuffers(StringBuilder outBuf, StringBuilder errBuf, long upTo) {
+        if (outBuf.length() > 0) {
+            out.print(outBuf);
+            out.flush();
+            outBuf.setLength(0);
+        }
+        if (errBuf.length() > 0) {
+            err.print(errBuf);
+            err.flush();
+            errBuf.setLength(0);
+        }
+        written = upTo;
+    }
+
+    /**
+     * Espera a que se escriba todo lo registrado hasta ahora.
+     *
+     * @return false si se agotó el tiempo
+     */
+    public boolean flush(long timeoutMs) {
+        long target = tail.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (written < target) {
+            if (System.nanoTime() > deadline || !drainer.isAlive())
+                return false;
+            LockSupport.unpark(drainer);
+            Thread.yield();
+        }
+        return true;
+    }
+
+    /**
+     * Mensajes descartados por buffer lleno.
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
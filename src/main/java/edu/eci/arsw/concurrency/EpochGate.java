@@ -0,0 +1,80 @@
+package edu.eci.arsw.concurrency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Época global para lecturas consistentes sin detener a los escritores.
+ *
+ * Cada escritura compuesta (una pelea) entra con {@link #enter()}, que
+ * devuelve la época vigente, y sale con {@link #exit(long)} desde el mismo
+ * hilo. {@link #advance()} abre la época siguiente y espera solo a que las
+ * escrituras que ya estaban dentro de la anterior terminen: las nuevas siguen
+ * entrando mientras tanto. Los contadores de escrituras en curso están
+ * rayados por threadId y separados por línea de caché: reparten la
+ * contención entre rayas, pero hilos cuyo id cae en la misma raya siguen
+ * compartiendo su contador, y todos leen la época global.
+ */
+public final class EpochGate {
+    private static final int STRIPES = Integer.highestOneBit(
+            Math.max(1, Runtime.getRuntime().availableProcessors() * 4 - 1)) << 1;
+    // 16 longs = 128 bytes entre contadores (evita false sharing)
+    private static final int PAD = 16;
+
+    private volatile long epoch = 1;
+    // Dos juegos de contadores: épocas pares e impares
+    private final AtomicLongArray inFlight = new AtomicLongArray(2 * STRIPES * PAD);
+
+    /**
+     * Registra una escritura en la época vigente y la devuelve.
+     */
+    public long enter() {
+        for (;;) {
+            long e = epoch;
+            int i = index(e);
+            inFlight.getAndIncrement(i);
+            // Si la época avanzó entre la lectura y el registro, reintentar:
+            // advance() pudo haber visto el contador todavía en cero.
+            if (epoch == e)
+                return e;
+            inFlight.getAndDecrement(i);
+        }
+    }
+
+    public void exit(long e) {
+        inFlight.getAndDecrement(index(e));
+    }
+
+    /**
+     * Cierra la época vigente: a partir de aquí las escrituras entran en la
+     * siguiente, y al volver ninguna escritura de la cerrada sigue en curso.
+     * Los llamadores deben serializarse entre sí.
+     *
+     * @return la época cerrada
+     */
+    public long advance() {
+        long closed = epoch;
+        epoch = closed + 1;
+        int base = (int) (closed & 1) * STRIPES * PAD;
+        for (int s = 0; s < STRIPES; s++) {
+            int spins = 0;
+            while (inFlight.get(base + s * PAD) != 0) {
+                if (++spins < 100)
+                    Thread.onSpinWait();
+                else
+                    Thread.yield();
+            }
+        }
+        return closed;
+    }
+
+    public long current() {
+        return epoch;
+    }
+
+    // El mismo hilo siempre cae en la misma raya: así un contador nunca queda
+    // en cero mientras una escritura de ese hilo sigue dentro.
+    private static int index(long e) {
+        int stripe = (int) Thread.currentThread().threadId() & (STRIPES - 1);
+        return ((int) (e & 1) * STRIPES + stripe) * PAD;
+    }
+}
@@ -0,0 +1,109 @@
+package edu.eci.arsw.concurrency;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias log-lineal (estilo HDR), sin locks ni asignaciones.
+ *
+ * Cada potencia de 2 se divide en 16 sub-cubetas, así el error relativo de
+ * un percentil es como mucho 1/16 (~6 %) en todo el rango de 1 ns a ~292
+ * años. record() es un incremento atómico sobre una cubeta fija.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+        counts.getAndIncrement(bucket(nanos));
+        sum.add(nanos);
+        // Solo se escribe cuando sube el máximo: casi siempre es una lectura
+        long m;
+        while (nanos > (m = max.get()) && !max.compareAndSet(m, nanos)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    static int bucket(long v) {
+        if (v < SUB)
+            return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v);
+        int shift = exp - SUB_BITS;
+        return (shift + 1) * SUB + (int) ((v >>> shift) & (SUB - 1));
+    }
+
+    // Mayor valor que cae en la cubeta i
+    static long upperBound(int i) {
+        if (i < SUB)
+            return i;
+        int shift = i / SUB - 1;
+        long lower = (long) (SUB + i % SUB) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    public long count() {
+        long c = 0;
+        for (int i = 0; i < BUCKETS; i++)
+            c += counts.get(i);
+        return c;
+    }
+
+    /**
+     * @param p percentil en [0, 100]
+     * @return cota superior (ns) de la cubeta del percentil, o 0 sin datos
+     */
+    public long percentile(double p) {
+        long[] c = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            c[i] = counts.get(i);
+            total += c[i];
+        }
+        if (total == 0)
+            return 0;
+        long target = Math.max(1, (long) Math.ceil(p / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += c[i];
+            if (seen >= target)
+                return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        long c = count();
+        return c == 0 ? 0 : (double) sum.sum() / c;
+    }
+
+    /**
+     * No es atómico respecto de record() concurrentes.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            counts.set(i, 0);
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * Resumen en microsegundos: n, media, p50, p99, p99.9 y máximo.
+     */
+    public String summary() {
+        return String.format("n=%,d mean=%.1fµs p50=%.1fµs p99=%.1fµs p99.9=%.1fµs max=%.1fµs",
+                count(), mean() / 1e3, percentile(50) / 1e3, percentile(99) / 1e3,
+                percentile(99.9) / 1e3, max() / 1e3);
+    }
+}
@@ -0,0 +1,123 @@
+package edu.eci.arsw.concurrency;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de locks de una estrategia: espera hasta obtener los locks,
+ * tiempo con los locks tomados, fallos de tryLock y timeouts.
+ *
+ * Se obtienen una vez por nombre con {@link #of(String)} y se guardan en un
+ * campo; registrar una medición no asigna memoria. Se desactivan con
+ * {@code -Dlockmetrics=false} (entonces {@link #now()} devuelve 0 y los
+ * record* no hacen nada).
+ */
+public final class LockMetrics {
+    public static final boolean ENABLED = !"false".equals(System.getProperty("lockmetrics"));
+
+    private static final Map<String, LockMetrics> REGISTRY = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final LatencyHistogram waitNanos = new LatencyHistogram();
+    private final LatencyHistogram holdNanos = new LatencyHistogram();
+    private final LongAdder tryLockFailures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    private LockMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Métricas de la estrategia {@code name} (p. ej. "fight.ordered").
+     */
+    public static LockMetrics of(String name) {
+        return REGISTRY.computeIfAbsent(name, LockMetrics::new);
+    }
+
+    public static Map<String, LockMetrics> all() {
+        return new TreeMap<>(REGISTRY);
+    }
+
+    public static void resetAll() {
+        for (LockMetrics m : REGISTRY.values())
+            m.reset();
+    }
+
+    /**
+     * Una línea por estrategia con datos.
+     */
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        for (LockMetrics m : all().values()) {
+            if (m.waitNanos.count() > 0 || m.tryLockFailures.sum() > 0)
+                sb.append(m).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public static long now() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Locks obtenidos: registra la espera desde {@code start} y devuelve el
+     * instante de adquisición, para pasarlo luego a {@link #released(long)}.
+     */
+    public long acquired(long start) {
+        if (!ENABLED)
+            return 0;
+        long t = System.nanoTime();
+        waitNanos.record(t - start);
+        return t;
+    }
+
+    public void released(long acquiredAt) {
+        if (ENABLED)
+            holdNanos.record(System.nanoTime() - acquiredAt);
+    }
+
+    public void tryLockFailed() {
+        if (ENABLED)
+            tryLockFailures.increment();
+    }
+
+    public void timedOut() {
+        if (ENABLED)
+            timeouts.increment();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public LatencyHistogram waitNanos() {
+        return waitNanos;
+    }
+
+    public LatencyHistogram holdNanos() {
+        return holdNanos;
+    }
+
+    public long tryLockFailures() {
+        return tryLockFailures.sum();
+    }
+
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    public void reset() {
+        waitNanos.reset();
+        holdNanos.reset();
+        tryLockFailures.reset();
+        timeouts.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[LOCKS] %s | wait %s | hold %s | tryLock fallidos=%,d timeouts=%,d",
+                name, waitNanos.summary(), holdNanos.summary(), tryLockFailures(), timeouts());
+    }
+}
@@ -0,0 +1,86 @@
+package edu.eci.arsw.concurrency;
+
+import java.util.Locale;
+
+import edu.eci.arsw.concurrency.AsyncLogger.Level;
+
+/**
+ * Logger de la simulación: un {@link AsyncLogger} compartido sobre
+ * System.out/System.err.
+ *
+ * {@code -Dlog.level=DEBUG|INFO|WARN|ERROR} (por defecto INFO) y
+ * {@code -Dlog.buffer=N} casillas (por defecto 65536). Los mensajes por hilo
+ * (inicio/fin de cada inmortal, cada limpieza) van en DEBUG.
+ */
+public final class Log {
+    private static final AsyncLogger LOGGER = new AsyncLogger(
+            Integer.getInteger("log.buffer", 1 << 16),
+            Level.valueOf(System.getProperty("log.level", "INFO").toUpperCase(Locale.ROOT)),
+            System.out, System.err);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> LOGGER.flush(2000), "AsyncLogger-flush"));
+    }
+
+    private Log() {
+    }
+
+    public static AsyncLogger logger() {
+        return LOGGER;
+    }
+
+    public static boolean debugEnabled() {
+        return LOGGER.enabled(Level.DEBUG);
+    }
+
+    public static void debug(String msg) {
+        LOGGER.log(Level.DEBUG, msg);
+    }
+
+    public static void debug(String fmt, Object a1) {
+        LOGGER.log(Level.DEBUG, fmt, a1);
+    }
+
+    public static void debug(String fmt, Object a1, Object a2) {
+        LOGGER.log(Level.DEBUG, fmt, a1, a2);
+    }
+
+    public static void info(String msg) {
+        LOGGER.log(Level.INFO, msg);
+    }
+
+    public static void info(String fmt, Object a1) {
+        LOGGER.log(Level.INFO, fmt, a1);
+    }
+
+    public static void info(String fmt, Object a1, Object a2) {
+        LOGGER.log(Level.INFO, fmt, a1, a2);
+    }
+
+    public static void info(String fmt, Object a1, Object a2, Object a3) {
+        LOGGER.log(Level.INFO, fmt, a1, a2, a3);
+    }
+
+    public static void info(String fmt, Object... args) {
+        LOGGER.log(Level.INFO, fmt, args);
+    }
+
+    public static void warn(String msg) {
+        LOGGER.log(Level.WARN, msg);
+    }
+
+    public static void warn(String fmt, Object a1) {
+        LOGGER.log(Level.WARN, fmt, a1);
+    }
+
+    public static void warn(String fmt, Object a1, Object a2) {
+        LOGGER.log(Level.WARN, fmt, a1, a2);
+    }
+
+    /**
+     * Espera a que se escriba lo pendiente (p. ej. antes de un resumen).
+     */
+    public static void flush() {
+        LOGGER.flush(2000);
+    }
+}
@@ -1,48 +1,48 @@
 package edu.eci.arsw.concurrency;
 
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Condition;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Pausa cooperativa estilo safepoint.
+ *
+ * pause() abre una época nueva y levanta la bandera; cada worker la ve en su
+ * próximo awaitIfPaused(), se anota en la barrera de llegada y se estaciona
+ * con LockSupport.park(). El último en llegar (o el último en salir con
+ * removeThread()) despierta directamente al hilo que espera en
+ * waitForAllPaused(): no hay sondeo ni interrupciones. resume() desestaciona
+ * a todos los que esperan.
+ */
 public final class PauseController {
-    private final ReentrantLock lock = new ReentrantLock(true);
-    private final Condition unpaused = lock.newCondition();
+    // Serializa pause/resume; los workers nunca lo toman
+    private final ReentrantLock lock = new ReentrantLock();
     private volatile boolean paused = false;
+    private final AtomicLong epoch = new AtomicLong();
     private final AtomicInteger pausedThreads = new AtomicInteger(0);
-    private volatile int totalThreads = 0;
+    private final AtomicInteger totalThreads = new AtomicInteger(0);
 
-    // Lista de threads a interrumpir
-    private Thread[] threads;
+    // Workers estacionados y el hilo que espera la quiescencia
+    private final ConcurrentLinkedQueue<Thread> waiters = new ConcurrentLinkedQueue<>();
+    private volatile Thread pauser;
 
-    public void setTotalThreads(int total) {
-        lock.lock();
-        try {
-            this.totalThreads = total;
-            this.threads = new Thread[total];
-            pausedThreads.set(0);
-            System.out.println("[PAUSE] Configurados " + total + " threads");
-        } finally {
-            lock.unlock();
-        }
-    }
+    // Latencia pause() -> último worker estacionado
+    private volatile long pauseStartNanos;
+    private volatile long lastPauseLatencyNanos = -1;
 
-    // Registrar thread cuando inicia
-    public void registerThread(Thread thread, int index) {
-        if (index >= 0 && index < threads.length) {
-            threads[index] = thread;
-        }
+    public void setTotalThreads(int total) {
+        totalThreads.set(total);
+        pausedThreads.set(0);
+        Log.info("[PAUSE] Configurados %d threads", total);
     }
 
     public void removeThread() {
-        lock.lock();
-        try {
-            totalThreads--;
-            if (paused && pausedThreads.get() >= totalThreads) {
-                System.out.println("[PAUSE] ✅ TODOS PAUSADOS (por salida de thread) (" + pausedThreads.get() + "/"
-                        + totalThreads + ")");
-            }
-        } finally {
-            lock.unlock();
+        int total = totalThreads.decrementAndGet();
+        if (paused && pausedThreads.get() >= total) {
+            signalQuiescent();
         }
     }
 
@@ -50,17 +50,13 @@ public final class PauseController {
         lock.lock();
         try {
             if (!paused) {
-                System.out.println("\n=== INICIANDO PAUSA ===");
+                Log.info("\n=== INICIANDO PAUSA (época %d) ===", epoch.get() + 1);
+                epoch.incrementAndGet();
+                pauseStartNanos = System.nanoTime();
+                lastPauseLatencyNanos = -1;
                 paused = true;
-                pausedThreads.set(0);
-
-                // INTERRUMPIR TODOS LOS THREADS PARA QUE DESPIERTEN
-                System.out.println("[PAUSE] Interrumpiendo " + totalThreads + " threads...");
-                for (int i = 0; i < threads.length; i++) {
-                    if (threads[i] != null && threads[i].isAlive()) {
-                        threads[i].interrupt();
-                        System.out.println("[PAUSE] Interrumpido: " + threads[i].getName());
-                    }
+                if (pausedThreads.get() >= totalThreads.get()) {
+                    signalQuiescent();
                 }
             }
         } finally {
@@ -72,9 +68,8 @@ public final class PauseController {
         lock.lock();
         try {
             if (paused) {
-                System.out.println("\n=== REANUDANDO ===");
-                paused = false;
-                unpaused.signalAll();
+                Log.info("\n=== REANUDANDO ===");
+                release();
             }
         } finally {
             lock.unlock();
@@ -85,56 +80,90 @@ public final class PauseController {
         return paused;
     }
 
+    /**
+     * Punto seguro de los workers. Camino rápido: una lectura volátil.
+     */
     public void awaitIfPaused() throws InterruptedException {
         if (!paused)
             return;
 
-        lock.lock();
+        Thread me = Thread.currentThread();
+        if (pausedThreads.incrementAndGet() >= totalThreads.get()) {
+            signalQuiescent();
+        }
         try {
-            if (paused) {
-                int current = pausedThreads.incrementAndGet();
-                String threadName = Thread.currentThread().getName();
-
-                System.out.println("[PAUSE] " + threadName + " se pausó (" + current + "/" + totalThreads + ")");
-
-                // Si somos el último, notificar
-                if (current >= totalThreads) {
-                    System.out.println("[PAUSE] ✅ TODOS PAUSADOS (" + current + "/" + totalThreads + ")");
-                }
-
-                // Esperar
-                while (paused) {
-                    unpaused.await();
+            // Encolarse una sola vez y antes de releer la bandera: resume()
+            // escribe la bandera y luego vacía la cola, así que uno de los dos
+            // ve al otro. Un despertar espurio vuelve a estacionarse sin
+            // reencolarse; solo si entre tanto hubo resume() y otra pause()
+            // (cambió la época) la cola ya nos soltó y hay que volver a entrar.
+            long seen = epoch.get();
+            waiters.offer(me);
+            while (paused) {
+                LockSupport.park(this);
+                if (Thread.interrupted())
+                    throw new InterruptedException();
+                long now = epoch.get();
+                if (now != seen && paused) {
+                    seen = now;
+                    waiters.offer(me);
                 }
-
-                pausedThreads.decrementAndGet();
-                System.out.println("[PAUSE] " + threadName + " reanudado");
             }
         } finally {
-            lock.unlock();
+            pausedThreads.decrementAndGet();
         }
     }
 
-    // Esperar con timeout
+    /**
+     * Estaciona al llamador hasta que todos los workers lleguen o salgan.
+     *
+     * @return false si se agotó el tiempo o no hay pausa en curso
+     */
     public boolean waitForAllPaused(long timeoutMs) throws InterruptedException {
-        long deadline = System.currentTimeMillis() + timeoutMs;
-
-        while (pausedThreads.get() < totalThreads) {
-            long remaining = deadline - System.currentTimeMillis();
-            if (remaining <= 0) {
-                System.out.println("[PAUSE] ⏰ TIMEOUT: Solo " + pausedThreads.get() + "/" + totalThreads + " pausados");
-                return false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        pauser = Thread.currentThread();
+        try {
+            while (!quiescent()) {
+                long remaining = deadline - System.nanoTime();
+                if (!paused || remaining <= 0) {
+                    Log.warn("[PAUSE] ⏰ TIMEOUT: Solo %d/%d pausados", pausedThreads.get(), totalThreads.get());
+                    return false;
+                }
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted())
+                    throw new InterruptedException();
             }
+        } finally {
+            pauser = null;
+        }
+        return true;
+    }
+
+    private boolean quiescent() {
+        return paused && pausedThreads.get() >= totalThreads.get();
+    }
 
-            // Mostrar progreso
-            System.out.println("[PAUSE] Progreso: " + pausedThreads.get() + "/" + totalThreads);
+    private void signalQuiescent() {
+        if (lastPauseLatencyNanos < 0) {
+            lastPauseLatencyNanos = System.nanoTime() - pauseStartNanos;
+        }
+        Thread p = pauser;
+        if (p != null) {
+            LockSupport.unpark(p);
+        }
+    }
 
-            // Pequeña espera
-            Thread.sleep(100);
+    private void release() {
+        paused = false;
+        Thread t;
+        while ((t = waiters.poll()) != null) {
+            LockSupport.unpark(t);
         }
+    }
 
-        System.out.println("[PAUSE] ✅ PAUSA COMPLETA: " + pausedThreads.get() + "/" + totalThreads);
-        return true;
+    // Entradas en la cola de estacionados (pruebas)
+    int queuedWaiters() {
+        return waiters.size();
     }
 
     public int getPausedThreadsCount() {
@@ -142,16 +171,29 @@ public final class PauseController {
     }
 
     public int getTotalThreads() {
-        return totalThreads;
+        return totalThreads.get();
+    }
+
+    /**
+     * Época de la pausa actual (o de la última); crece en cada pause().
+     */
+    public long epoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Nanosegundos entre el último pause() y la quiescencia, o -1 si aún no llega.
+     */
+    public long lastPauseLatencyNanos() {
+        return lastPauseLatencyNanos;
     }
 
     public void forceResume() {
         lock.lock();
         try {
-            paused = false;
-            unpaused.signalAll();
+            release();
         } finally {
             lock.unlock();
         }
     }
-}
\ No newline at end of file
+}
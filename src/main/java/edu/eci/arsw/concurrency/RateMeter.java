@@ -0,0 +1,28 @@
+package edu.eci.arsw.concurrency;
+
+/**
+ * Tasa por segundo de un contador monótono, para lectores periódicos (JMX,
+ * UI). Recalcula como mucho una vez por ventana; dentro de la ventana
+ * devuelve el último valor, así varios lectores no se achican la muestra.
+ */
+public final class RateMeter {
+    private final long windowNanos;
+    private long lastCount;
+    private long lastNanos = System.nanoTime();
+    private double rate;
+
+    public RateMeter(long windowMillis) {
+        this.windowNanos = windowMillis * 1_000_000L;
+    }
+
+    public synchronized double rate(long count) {
+        long now = System.nanoTime();
+        long elapsed = now - lastNanos;
+        if (elapsed >= windowNanos) {
+            rate = (count - lastCount) * 1e9 / elapsed;
+            lastCount = count;
+            lastNanos = now;
+        }
+        return rate;
+    }
+}
@@ -0,0 +1,77 @@
+package edu.eci.arsw.concurrency;
+
+import java.util.Arrays;
+
+/**
+ * Serie de tiempo de tamaño fijo: las últimas {@code capacity} muestras de
+ * varias columnas, sobrescribiendo la más vieja. Un escritor (el muestreador)
+ * y lectores que copian una ventana; ambos lados toman el monitor solo el
+ * tiempo de una copia de arreglos.
+ */
+public final class TimeSeriesRing {
+    private final String[] columns;
+    private final long[] times;
+    private final double[][] values;
+    private long count;
+    // Cambia con cada muestra: los lectores repintan solo si avanzó
+    private volatile long version;
+
+    public TimeSeriesRing(int capacity, String... columns) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacidad debe ser > 0");
+        this.columns = columns.clone();
+        this.times = new long[capacity];
+        this.values = new double[columns.length][capacity];
+    }
+
+    public synchronized void add(long timeMillis, double... sample) {
+        if (sample.length != columns.length)
+            throw new IllegalArgumentException("Se esperaban " + columns.length + " valores");
+        int i = (int) (count % times.length);
+        times[i] = timeMillis;
+        for (int c = 0; c < sample.length; c++)
+            values[c][i] = sample[c];
+        count++;
+        version = count;
+    }
+
+    /**
+     * Muestras en orden cronológico (la más vieja primero).
+     */
+    public record Window(String[] columns, long[] times, double[][] values) {
+        public int size() {
+            return times.length;
+        }
+
+        public double last(int column) {
+            double[] v = values[column];
+            return v.length == 0 ? Double.NaN : v[v.length - 1];
+        }
+    }
+
+    public synchronized Window window() {
+        int n = (int) Math.min(count, times.length);
+        int start = (int) ((count - n) % times.length);
+        long[] t = new long[n];
+        double[][] v = new double[columns.length][n];
+        for (int k = 0; k < n; k++) {
+            int i = (start + k) % times.length;
+            t[k] = times[i];
+            for (int c = 0; c < columns.length; c++)
+                v[c][k] = values[c][i];
+        }
+        return new Window(columns.clone(), t, v);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int capacity() {
+        return times.length;
+    }
+
+    public String[] columns() {
+        return Arrays.copyOf(columns, columns.length);
+    }
+}
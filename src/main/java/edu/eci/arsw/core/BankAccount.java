@@ -1,16 +1,37 @@
 package edu.eci.arsw.core;
 
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
 
+/**
+ * The ReentrantLock is what the classic transfer strategies hold around a whole transfer. Every balance write,
+ * on any path, also happens inside a short write section of the StampedLock (its version): balance() reads
+ * optimistically and retries only if a write overlapped, and transferOptimistic commits by converting its
+ * optimistic stamps instead of holding exclusive locks throughout.
+ */
 public final class BankAccount {
   private final long id;
   private long balance;
   private final ReentrantLock lock = new ReentrantLock();
+  private final StampedLock version = new StampedLock();
 
   public BankAccount(long id, long initial) { this.id = id; this.balance = initial; }
   public long id() { return id; }
-  public long balance() { return balance; }
   public ReentrantLock lock() { return lock; }
+
+  /** Consistent, lock-free in the common case: never blocks writers and never sees a torn or half-written value. */
+  public long balance() {
+    long s = version.tryOptimisticRead();
+    long b = balance;
+    if (version.validate(s)) return b;
+    s = version.readLock();
+    try { return balance; }
+    finally { version.unlockRead(s); }
+  }
+
+  StampedLock version() { return version; }
+  // Callers hold the write stamp (or an optimistic stamp they validate afterwards)
+  long balanceInternal() { return balance; }
   void depositInternal(long amount) { balance += amount; }
   void withdrawInternal(long amount) { balance -= amount; }
 }
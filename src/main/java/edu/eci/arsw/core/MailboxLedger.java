@@ -0,0 +1,390 @@
+package edu.eci.arsw.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single-writer sharded ledger: account i belongs to shard i % shards, and only that shard's owner thread ever
+ * touches its balances, so there are no account locks at all. A transfer is a message on the bounded mailbox of
+ * the source shard; owners drain their mailbox in batches.
+ *
+ * Cross-shard transfers take two steps: the source owner debits (or rejects on insufficient funds) and sends a
+ * credit to the destination's inbox, whose owner applies it. Credits between two shards arrive in the order they
+ * were sent. The inbox is separate from the producer mailbox and always drained, so owners never wait on each
+ * other; a credit that does not fit waits in the sender's overflow, and while that overflow is at its cap the
+ * owner stops taking debits. Producers then block on the full source mailbox: under Zipf skew, traffic towards
+ * a hot shard backs up all the way to the producers instead of piling up in memory.
+ *
+ * audit() takes a marker cut (Chandy-Lamport) instead of stopping anyone: on its first marker an owner sums its
+ * balances and sends a marker to every other shard behind the credits it already sent; until the marker from
+ * shard p arrives, credits from p are the money that was in flight at the cut. Balances plus those credits is a
+ * consistent total, so a lost or duplicated credit shows up as a wrong audit.
+ *
+ * Producers block (spin, then yield) only while the source mailbox is full, which is the backpressure.
+ */
+public final class MailboxLedger implements AutoCloseable {
+  private static final int DEBIT = 0, CREDIT = 1, QUERY = 2, AUDIT = 3, MARKER = 4;
+  private static final int BATCH = 256;
+
+  private final int size;
+  private final Shard[] shards;
+  private final LongAdder posted = new LongAdder();
+  private final LongAdder settled = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final ThreadLocal<Tracker> tracker = ThreadLocal.withInitial(Tracker::new);
+  private volatile boolean closed;
+  private volatile boolean stopping;
+  // One audit at a time (audit() is synchronized); owners complete their part of the current one
+  private long auditEpoch;
+  private volatile List<CompletableFuture<long[]>> auditParts;
+
+  /**
+   * @param mailboxCapacity messages per shard mailbox and per shard inbox (rounded up to a power of two); also
+   *                        the overflow size (at least 256) at which an owner stops taking debits
+   */
+  public MailboxLedger(int accounts, long initialBalance, int shards, int mailboxCapacity) {
+    if (accounts <= 0 || shards <= 0) throw new IllegalArgumentException("accounts and shards must be > 0");
+    this.size = accounts;
+    this.shards = new Shard[shards];
+    for (int s = 0; s < shards; s++) {
+      int owned = accounts / shards + (s < accounts % shards ? 1 : 0);
+      this.shards[s] = new Shard(s, owned, initialBalance, mailboxCapacity);
+    }
+    for (Shard s : this.shards) s.owner.start();
+  }
+
+  public int size() { return size; }
+
+  /**
+   * Fire-and-forget transfer; a shortfall only shows up in {@link #rejected()}. Blocks only while the source
+   * shard's mailbox is full.
+   */
+  public void post(int from, int to, long amount) {
+    check(from); check(to);
+    if (amount < 0) throw new IllegalArgumentException("amount must be >= 0");
+    if (closed) throw new RejectedExecutionException("MailboxLedger closed");
+    Tracker t = tracker.get();
+    t.posted++;
+    posted.increment();
+    send(shards[from % shards.length], DEBIT, from, to, amount, t);
+  }
+
+  /** Completes once the credit is applied, or fails with IllegalArgumentException on insufficient funds. */
+  public CompletableFuture<Void> transfer(int from, int to, long amount) {
+    check(from); check(to);
+    if (amount < 0) throw new IllegalArgumentException("amount must be >= 0");
+    if (closed) return CompletableFuture.failedFuture(new RejectedExecutionException("MailboxLedger closed"));
+    var done = new CompletableFuture<Void>();
+    posted.increment();
+    send(shards[from % shards.length], DEBIT, from, to, amount, done);
+    return done;
+  }
+
+  /** Balance as seen by the owner after everything already in its mailbox. */
+  public long balance(int account) {
+    check(account);
+    var f = new CompletableFuture<long[]>();
+    send(shards[account % shards.length], QUERY, account, account, 0, f);
+    return f.join()[0];
+  }
+
+  /** Balances plus credits in flight at one consistent cut, taken while transfers run. */
+  public synchronized long audit() {
+    long epoch = ++auditEpoch;
+    var parts = new ArrayList<CompletableFuture<long[]>>(shards.length);
+    for (int s = 0; s < shards.length; s++) parts.add(new CompletableFuture<>());
+    auditParts = parts;
+    for (Shard s : shards) send(s, AUDIT, 0, 0, epoch, null);
+    long total = 0;
+    for (var p : parts) {
+      long[] r = p.join();
+      total += r[0] + r[1];
+    }
+    return total;
+  }
+
+  /**
+   * Waits until every transfer this thread has posted is settled or rejected; other producers' traffic neither
+   * holds it up nor lets it return early. transfer() callers have their futures instead.
+   */
+  public void sync() {
+    Tracker t = tracker.get();
+    long target = t.posted;
+    int spins = 0;
+    while (t.done.get() < target) {
+      if (++spins < 100) Thread.onSpinWait();
+      else LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+    }
+  }
+
+  // Global: exact only once nobody posts any more (close())
+  private void awaitAll() {
+    long target = posted.sum();
+    int spins = 0;
+    while (settled.sum() + rejected.sum() < target) {
+      if (++spins < 100) Thread.onSpinWait();
+      else LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+    }
+  }
+
+  // Largest overflow any owner reached; meaningful after close() (which joins the owners)
+  int peakOverflow() {
+    int peak = 0;
+    for (Shard s : shards) peak = Math.max(peak, s.peakOverflow);
+    return peak;
+  }
+
+  public long settled() { return settled.sum(); }
+  public long rejected() { return rejected.sum(); }
+
+  private void check(int account) {
+    if (account < 0 || account >= size) throw new IndexOutOfBoundsException("account " + account);
+  }
+
+  private void send(Shard target, int kind, int from, int to, long amount, Object ref) {
+    if (stopping) throw new RejectedExecutionException("MailboxLedger closed");
+    int spins = 0;
+    while (!target.box.offer(kind, from, to, amount, ref)) {
+      target.wake();
+      if (++spins < 64) Thread.onSpinWait();
+      else Thread.yield();
+    }
+    target.wake();
+  }
+
+  /**
+   * Settles everything already posted (credits included), then stops the owners; later transfers fail with
+   * RejectedExecutionException. Call it once the producers are done.
+   */
+  @Override public void close() {
+    if (closed) return;
+    closed = true;
+    awaitAll();
+    stopping = true;
+    for (Shard s : shards) LockSupport.unpark(s.owner);
+    for (Shard s : shards) {
+      try { s.owner.join(); }
+      catch (InterruptedException e) { Thread.currentThread().interrupt(); return; }
+    }
+  }
+
+  // --- shard: owner thread, its balances and its mailbox ---
+
+  // A credit or marker for another shard that did not fit in its inbox
+  private record Outgoing(Shard target, int kind, int from, int to, long amount, Object ref) {}
+
+  // post() completions of one producer thread: posted is its own, done is bumped by the owners
+  private static final class Tracker {
+    long posted;
+    final AtomicLong done = new AtomicLong();
+  }
+
+  private final class Shard implements Runnable {
+    final int index;
+    final long[] balance;       // owner thread only
+    final Mailbox box;           // producers: debits, queries, audit triggers
+    final Mailbox inbox;         // other owners: credits and markers
+    final ArrayDeque<Outgoing> overflow = new ArrayDeque<>();
+    final int overflowCap;
+    int peakOverflow;            // owner thread only; read after close()
+    final Thread owner;
+    volatile boolean sleeping;
+
+    // Marker cut, owner thread only: epoch snapshotted, balances then, credits caught in flight since
+    long cutEpoch;
+    long cutSum, cutInFlight;
+    int markersLeft;
+    final boolean[] markerFrom;
+
+    Shard(int index, int owned, long initial, int capacity) {
+      this.index = index;
+      this.markerFrom = new boolean[shards.length];
+      this.balance = new long[owned];
+      Arrays.fill(balance, initial);
+      this.box = new Mailbox(capacity);
+      this.inbox = new Mailbox(capacity);
+      this.overflowCap = Math.max(BATCH, capacity);
+      this.owner = new Thread(this, "Ledger-Shard-" + index);
+      owner.setDaemon(true);
+    }
+
+    void wake() { if (sleeping) LockSupport.unpark(owner); }
+
+    @Override public void run() {
+      int idle = 0;
+      for (;;) {
+        // Credits first and always: that is what lets every other owner's overflow drain
+        int n = drain(inbox);
+        retryOverflow();
+        // Each debit can add one credit to overflow; at the cap, leave the debits to back up on the producers
+        if (overflow.size() < overflowCap) n += drain(box);
+        retryOverflow();
+        if (n > 0) { idle = 0; continue; }
+        if (stopping && box.peek() == null && inbox.peek() == null && overflow.isEmpty()) return;
+        if (++idle < 64) { Thread.onSpinWait(); continue; }
+        // Sleep until a sender wakes us (it checks sleeping after publishing: no lost wake-up)
+        sleeping = true;
+        boolean throttled = overflow.size() >= overflowCap;
+        if (inbox.peek() == null && (throttled || box.peek() == null) && !stopping)
+          LockSupport.parkNanos(this, overflow.isEmpty() ? TimeUnit.MILLISECONDS.toNanos(1) : 20_000);
+        sleeping = false;
+      }
+    }
+
+    private int drain(Mailbox from) {
+      int n = 0;
+      Mailbox.Slot s;
+      while (n < BATCH && (from != box || overflow.size() < overflowCap) && (s = from.peek()) != null) {
+        handle(s.kind, s.from, s.to, s.amount, s.ref);
+        from.release(s);
+        n++;
+      }
+      return n;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handle(int kind, int from, int to, long amount, Object ref) {
+      switch (kind) {
+        case DEBIT -> {
+          int i = from / shards.length;
+          if (balance[i] < amount) {
+            rejected.increment();
+            if (ref instanceof CompletableFuture<?> f) f.completeExceptionally(new IllegalArgumentException("Insufficient funds"));
+            else if (ref instanceof Tracker t) t.done.incrementAndGet();
+            return;
+          }
+          balance[i] -= amount;
+          Shard target = shards[to % shards.length];
+          if (target == this) {
+            balance[to / shards.length] += amount;
+            done(ref);
+          } else {
+            sendTo(target, CREDIT, from, to, amount, ref);
+          }
+        }
+        case CREDIT -> {
+          balance[to / shards.length] += amount;
+          int source = from % shards.length;
+          if (markersLeft > 0 && !markerFrom[source]) cutInFlight += amount;
+          done(ref);
+        }
+        case QUERY -> ((CompletableFuture<long[]>) ref).complete(new long[] { balance[from / shards.length] });
+        case AUDIT -> cut(amount);
+        case MARKER -> {
+          cut(amount);
+          markerFrom[from] = true;
+          markersLeft--;
+          finishCut();
+        }
+        default -> throw new IllegalStateException("kind " + kind);
+      }
+    }
+
+    // First marker of an epoch (from the auditor or a peer): snapshot, then mark every outgoing channel. The
+    // auditor's trigger waits behind debits in the box, so it can show up after peers' markers finished that
+    // epoch or even started the next one: anything not newer than the last cut is stale.
+    private void cut(long epoch) {
+      if (epoch <= cutEpoch) return;
+      cutEpoch = epoch;
+      long sum = 0;
+      for (long b : balance) sum += b;
+      cutSum = sum;
+      cutInFlight = 0;
+      Arrays.fill(markerFrom, false);
+      markersLeft = shards.length - 1;
+      for (Shard peer : shards) if (peer != this) sendTo(peer, MARKER, index, 0, epoch, null);
+      finishCut();
+    }
+
+    private void finishCut() {
+      if (markersLeft == 0) auditParts.get(index).complete(new long[] { cutSum, cutInFlight });
+    }
+
+    // Never blocks: behind anything already waiting in overflow, so each channel stays FIFO
+    private void sendTo(Shard target, int kind, int from, int to, long amount, Object ref) {
+      if (overflow.isEmpty() && target.inbox.offer(kind, from, to, amount, ref)) {
+        target.wake();
+        return;
+      }
+      overflow.add(new Outgoing(target, kind, from, to, amount, ref));
+      peakOverflow = Math.max(peakOverflow, overflow.size());
+    }
+
+    private void done(Object ref) {
+      settled.increment();
+      if (ref instanceof CompletableFuture<?> f) f.complete(null);
+      else if (ref instanceof Tracker t) t.done.incrementAndGet();
+    }
+
+    // FIFO, so one full inbox holds back the rest; owners never wait on each other
+    private void retryOverflow() {
+      Outgoing c;
+      while ((c = overflow.peek()) != null && c.target().inbox.offer(c.kind(), c.from(), c.to(), c.amount(), c.ref())) {
+        overflow.poll();
+        c.target().wake();
+      }
+    }
+  }
+
+  /**
+   * Bounded MPSC queue in the style of Vyukov's: each slot carries a sequence saying whose turn it is, and the
+   * message fields live in the slot, so posting allocates nothing.
+   */
+  private static final class Mailbox {
+    static final class Slot {
+      volatile long seq;
+      int kind, from, to;
+      long amount;
+      Object ref;
+    }
+
+    private final Slot[] ring;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // consumer only
+
+    Mailbox(int capacity) {
+      int c = capacity <= 1 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+      ring = new Slot[c];
+      for (int i = 0; i < c; i++) { ring[i] = new Slot(); ring[i].seq = i; }
+      mask = c - 1;
+    }
+
+    boolean offer(int kind, int from, int to, long amount, Object ref) {
+      Slot s;
+      long pos;
+      for (;;) {
+        pos = tail.get();
+        s = ring[(int) pos & mask];
+        long seq = s.seq;
+        if (seq == pos) {
+          if (tail.compareAndSet(pos, pos + 1)) break;
+        } else if (seq < pos) {
+          return false;
+        }
+      }
+      s.kind = kind; s.from = from; s.to = to; s.amount = amount; s.ref = ref;
+      s.seq = pos + 1;
+      return true;
+    }
+
+    Slot peek() {
+      Slot s = ring[(int) head & mask];
+      return s.seq == head + 1 ? s : null;
+    }
+
+    void release(Slot s) {
+      s.ref = null;
+      s.seq = head + ring.length;
+      head++;
+    }
+  }
+}
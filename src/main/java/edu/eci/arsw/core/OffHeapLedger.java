@@ -0,0 +1,118 @@
+package edu.eci.arsw.core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.concurrent.locks.ReentrantLock;
+
+import edu.eci.arsw.concurrency.LockMetrics;
+
+/**
+ * Account balances in direct (off-heap) memory instead of one BankAccount object plus one ReentrantLock per
+ * account: tens of millions of accounts cost 8 bytes each outside the heap and nothing for the GC to trace.
+ *
+ * Account i lives in shard i & (shards - 1) at slot i >>> log2(shards); each shard is one direct buffer and a
+ * fixed set of striped locks, so the lock count does not grow with the accounts. A transfer locks the stripes of
+ * its two accounts in global stripe order, the same rule as transferOrdered (two accounts on one stripe take it
+ * once), so transfers never deadlock. audit() takes every stripe in that order for an exact total.
+ *
+ * Lock waits are recorded under "transfer.ledger".
+ */
+public final class OffHeapLedger {
+  private static final LockMetrics LEDGER = LockMetrics.of("transfer.ledger");
+  private static final TransferMetrics METRICS = TransferMetrics.INSTANCE;
+  // One direct buffer per shard is capped at Integer.MAX_VALUE bytes
+  private static final int MAX_SHARD_ACCOUNTS = Integer.MAX_VALUE / Long.BYTES;
+
+  private final int size;
+  private final int shardBits;
+  private final int stripeBits;
+  private final LongBuffer[] balances;
+  // Global stripe g = shard << stripeBits | stripe: the lock order
+  private final ReentrantLock[] locks;
+
+  /**
+   * @param shards           power of two
+   * @param stripesPerShard  power of two; more stripes, less false conflict between unrelated accounts
+   */
+  public OffHeapLedger(int accounts, long initialBalance, int shards, int stripesPerShard) {
+    if (accounts <= 0) throw new IllegalArgumentException("accounts must be > 0");
+    if (Integer.bitCount(shards) != 1 || Integer.bitCount(stripesPerShard) != 1)
+      throw new IllegalArgumentException("shards and stripesPerShard must be powers of two");
+    int perShard = (int) (((long) accounts + shards - 1) / shards);
+    if (perShard > MAX_SHARD_ACCOUNTS) throw new IllegalArgumentException("too many accounts per shard; add shards");
+    this.size = accounts;
+    this.shardBits = Integer.numberOfTrailingZeros(shards);
+    this.stripeBits = Integer.numberOfTrailingZeros(stripesPerShard);
+    this.balances = new LongBuffer[shards];
+    for (int s = 0; s < shards; s++) {
+      balances[s] = ByteBuffer.allocateDirect(perShard * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+      // The last row can be short: its padding slots stay at 0 and never move
+      for (int k = 0; k < perShard; k++) if (((long) k << shardBits | s) < accounts) balances[s].put(k, initialBalance);
+    }
+    this.locks = new ReentrantLock[shards * stripesPerShard];
+    for (int g = 0; g < locks.length; g++) locks[g] = new ReentrantLock();
+  }
+
+  /** Shards and stripes sized for the machine: 4 shards per core, 64 stripes each. */
+  public OffHeapLedger(int accounts, long initialBalance) {
+    this(accounts, initialBalance, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4)), 64);
+  }
+
+  public int size() { return size; }
+  public int shards() { return balances.length; }
+  public long offHeapBytes() { return (long) balances.length * balances[0].capacity() * Long.BYTES; }
+
+  private int shard(int account) { return account & (balances.length - 1); }
+  private int slot(int account) { return account >>> shardBits; }
+  private int stripe(int account) { return shard(account) << stripeBits | (slot(account) & ((1 << stripeBits) - 1)); }
+
+  private void check(int account) {
+    if (account < 0 || account >= size) throw new IndexOutOfBoundsException("account " + account);
+  }
+
+  /** Same semantics as {@link TransferService#transferOrdered}: IllegalArgumentException on insufficient funds. */
+  public void transfer(int from, int to, long amount) {
+    check(from); check(to);
+    int a = stripe(from), b = stripe(to);
+    ReentrantLock first = locks[Math.min(a, b)], second = locks[Math.max(a, b)];
+    long start = LockMetrics.now();
+    first.lock();
+    try {
+      if (second != first) second.lock();
+      long held = LEDGER.acquired(start);
+      try {
+        LongBuffer src = balances[shard(from)], dst = balances[shard(to)];
+        int i = slot(from), j = slot(to);
+        if (src.get(i) < amount) { METRICS.failed(); throw new IllegalArgumentException("Insufficient funds"); }
+        src.put(i, src.get(i) - amount);
+        dst.put(j, dst.get(j) + amount);
+        METRICS.transferred();
+      } finally {
+        if (second != first) second.unlock();
+        LEDGER.released(held);
+      }
+    } finally { first.unlock(); }
+  }
+
+  public long balance(int account) {
+    check(account);
+    ReentrantLock l = locks[stripe(account)];
+    l.lock();
+    try { return balances[shard(account)].get(slot(account)); }
+    finally { l.unlock(); }
+  }
+
+  /** Exact total: holds every stripe (in order) while summing, so no transfer is half-seen. */
+  public long audit() {
+    int held = 0;
+    try {
+      for (; held < locks.length; held++) locks[held].lock();
+      long total = 0;
+      for (LongBuffer b : balances) for (int k = 0, n = b.capacity(); k < n; k++) total += b.get(k);
+      return total;
+    } finally {
+      for (int g = held - 1; g >= 0; g--) locks[g].unlock();
+    }
+  }
+}
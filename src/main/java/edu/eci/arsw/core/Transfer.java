@@ -0,0 +1,11 @@
+package edu.eci.arsw.core;
+
+import java.util.Objects;
+
+/** One payment inside a {@link TransferService#transferBatch} call. */
+public record Transfer(BankAccount from, BankAccount to, long amount) {
+  public Transfer {
+    Objects.requireNonNull(from); Objects.requireNonNull(to);
+    if (amount < 0) throw new IllegalArgumentException("amount must be >= 0");
+  }
+}
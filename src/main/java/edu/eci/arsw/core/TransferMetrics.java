@@ -0,0 +1,48 @@
+package edu.eci.arsw.core;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import edu.eci.arsw.concurrency.LockMetrics;
+import edu.eci.arsw.concurrency.Log;
+import edu.eci.arsw.concurrency.RateMeter;
+
+/** Process-wide TransferService counters; striped, so recording never contends. */
+public final class TransferMetrics implements TransferMetricsMXBean {
+  public static final TransferMetrics INSTANCE = new TransferMetrics();
+  static {
+    try {
+      var server = ManagementFactory.getPlatformMBeanServer();
+      var name = new ObjectName("edu.eci.arsw:type=TransferService");
+      if (!server.isRegistered(name)) server.registerMBean(INSTANCE, name);
+    } catch (JMException e) {
+      Log.warn("[JMX] TransferService MBean not registered: %s", e);
+    }
+  }
+
+  private final LongAdder transfers = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+  private final RateMeter rate = new RateMeter(1000);
+
+  private TransferMetrics() {}
+
+  void transferred() { transfers.increment(); }
+  void transferred(int n) { transfers.add(n); }
+  void failed() { failures.increment(); }
+  void timedOut() { timeouts.increment(); }
+
+  @Override public long getTransfers() { return transfers.sum(); }
+  @Override public double getTransfersPerSecond() { return rate.rate(transfers.sum()); }
+  @Override public long getFailures() { return failures.sum(); }
+  @Override public long getTimeouts() { return timeouts.sum(); }
+  @Override public long getTryLockFailures() {
+    long sum = 0;
+    for (var e : LockMetrics.all().entrySet()) if (e.getKey().startsWith("transfer.")) sum += e.getValue().tryLockFailures();
+    return sum;
+  }
+  @Override public void reset() { transfers.reset(); failures.reset(); timeouts.reset(); }
+}
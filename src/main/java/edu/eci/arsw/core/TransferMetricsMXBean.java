@@ -0,0 +1,15 @@
+package edu.eci.arsw.core;
+
+/** JMX view of {@link TransferService}, registered as {@code edu.eci.arsw:type=TransferService}. */
+public interface TransferMetricsMXBean {
+  long getTransfers();
+  /** Completed transfers per second over the last ~1 s window. */
+  double getTransfersPerSecond();
+  /** Transfers rejected for insufficient funds. */
+  long getFailures();
+  /** Transfers that gave up waiting for their locks. */
+  long getTimeouts();
+  /** Failed tryLock attempts (each may be retried). */
+  long getTryLockFailures();
+  void reset();
+}
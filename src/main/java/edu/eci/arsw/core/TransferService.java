@@ -1,54 +1,303 @@
 package edu.eci.arsw.core;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+import edu.eci.arsw.concurrency.LockMetrics;
 
 public final class TransferService {
+  // Wait = from entering the transfer until both locks are held (including tryLock retries and backoff)
+  private static final LockMetrics NAIVE = LockMetrics.of("transfer.naive");
+  private static final LockMetrics ORDERED = LockMetrics.of("transfer.ordered");
+  private static final LockMetrics TRYLOCK = LockMetrics.of("transfer.trylock");
+  private static final LockMetrics BATCH = LockMetrics.of("transfer.batch");
+  // tryLockFailures = optimistic attempts that had to retry
+  private static final LockMetrics OPTIMISTIC = LockMetrics.of("transfer.optimistic");
+  private static final int OPTIMISTIC_RETRIES = 32;
+  private static final TransferMetrics METRICS = TransferMetrics.INSTANCE;
+
   public static void transferNaive(BankAccount from, BankAccount to, long amount) {
     Objects.requireNonNull(from); Objects.requireNonNull(to);
     var a = from.lock(); var b = to.lock();
+    long start = LockMetrics.now();
     a.lock();
     try {
       sleepALittle();
       b.lock();
+      long held = NAIVE.acquired(start);
+      try { withdrawDeposit(from, to, amount); }
+      finally { b.unlock(); NAIVE.released(held); }
+    } finally { a.unlock(); }
+  }
+  /** Naive lock order (from, then to) with bounded waits: a deadlock becomes a timeout instead of a hang. */
+  public static void transferNaiveTimed(BankAccount from, BankAccount to, long amount, Duration maxWait) throws InterruptedException {
+    Objects.requireNonNull(from); Objects.requireNonNull(to);
+    var a = from.lock(); var b = to.lock();
+    long wait = maxWait.toNanos();
+    long start = LockMetrics.now();
+    if (!a.tryLock(wait, TimeUnit.NANOSECONDS)) { NAIVE.timedOut(); METRICS.timedOut(); throw new InterruptedException("transferNaive timed out"); }
+    try {
+      if (!b.tryLock(wait, TimeUnit.NANOSECONDS)) { NAIVE.timedOut(); METRICS.timedOut(); throw new InterruptedException("transferNaive timed out"); }
+      long held = NAIVE.acquired(start);
       try { withdrawDeposit(from, to, amount); }
-      finally { b.unlock(); }
+      finally { b.unlock(); NAIVE.released(held); }
     } finally { a.unlock(); }
   }
   public static void transferOrdered(BankAccount from, BankAccount to, long amount) {
     Objects.requireNonNull(from); Objects.requireNonNull(to);
     BankAccount first = from.id() < to.id() ? from : to;
     BankAccount second = from.id() < to.id() ? to : from;
+    long start = LockMetrics.now();
     first.lock().lock();
     try {
       second.lock().lock();
+      long held = ORDERED.acquired(start);
       try { withdrawDeposit(from, to, amount); }
-      finally { second.lock().unlock(); }
+      finally { second.lock().unlock(); ORDERED.released(held); }
     } finally { first.lock().unlock(); }
   }
   public static void transferTryLock(BankAccount from, BankAccount to, long amount, Duration maxWait) throws InterruptedException {
+    transferTryLock(from, to, amount, maxWait, Duration.ofMillis(10), Duration.ofMillis(5));
+  }
+  /**
+   * @param lockWait   how long each tryLock waits per attempt
+   * @param maxBackoff upper bound of the random pause between attempts (jitter in [maxBackoff/5, maxBackoff)); zero just yields
+   */
+  public static void transferTryLock(BankAccount from, BankAccount to, long amount, Duration maxWait,
+                                     Duration lockWait, Duration maxBackoff) throws InterruptedException {
     Objects.requireNonNull(from); Objects.requireNonNull(to);
     ReentrantLock a = from.lock(); ReentrantLock b = to.lock();
-    long deadline = System.nanoTime() + maxWait.toNanos();
+    long wait = lockWait.toNanos();
+    long backoff = maxBackoff.toNanos();
+    long start = System.nanoTime();
+    long deadline = start + maxWait.toNanos();
     while (System.nanoTime() < deadline) {
-      if (a.tryLock(10, TimeUnit.MILLISECONDS)) {
+      if (a.tryLock(wait, TimeUnit.NANOSECONDS)) {
         try {
-          if (b.tryLock(10, TimeUnit.MILLISECONDS)) {
+          if (b.tryLock(wait, TimeUnit.NANOSECONDS)) {
+            long held = TRYLOCK.acquired(start);
             try { withdrawDeposit(from, to, amount); return; }
-            finally { b.unlock(); }
+            finally { b.unlock(); TRYLOCK.released(held); }
           }
         } finally { a.unlock(); }
       }
-      Thread.sleep(ThreadLocalRandom.current().nextInt(1, 5));
+      TRYLOCK.tryLockFailed();
+      if (backoff <= 0) Thread.yield();
+      else Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(backoff / 5, backoff)));
     }
+    TRYLOCK.timedOut(); METRICS.timedOut();
     throw new InterruptedException("transferTryLock timed out");
   }
+  /**
+   * Optimistic transfer: reads the source balance under optimistic stamps of both accounts and decides without
+   * holding anything, then commits by converting both stamps to write stamps in id() order. If either account was
+   * written in between, a conversion fails and the transfer retries; the only exclusive section is the two stores.
+   * After OPTIMISTIC_RETRIES failed attempts (a hot pair) it takes both write stamps in id() order instead.
+   * Same outcome as transferOrdered, and safe to mix with every other strategy.
+   *
+   * @throws IllegalArgumentException on insufficient funds
+   */
+  public static void transferOptimistic(BankAccount from, BankAccount to, long amount) {
+    Objects.requireNonNull(from); Objects.requireNonNull(to);
+    if (from == to) {
+      if (from.balance() < amount) { METRICS.failed(); throw new IllegalArgumentException("Insufficient funds"); }
+      METRICS.transferred();
+      return;
+    }
+    BankAccount first = from.id() < to.id() ? from : to;
+    StampedLock a = first.version(), b = (first == from ? to : from).version();
+    long start = LockMetrics.now();
+    for (int attempt = 0; attempt < OPTIMISTIC_RETRIES; attempt++) {
+      long sa = a.tryOptimisticRead(), sb = b.tryOptimisticRead();
+      long available = from.balanceInternal();
+      if (sa != 0 && sb != 0 && a.validate(sa) && b.validate(sb)) {
+        if (available < amount) { METRICS.failed(); throw new IllegalArgumentException("Insufficient funds"); }
+        long wa = a.tryConvertToWriteLock(sa);
+        if (wa != 0) {
+          long wb = b.tryConvertToWriteLock(sb);
+          if (wb != 0) {
+            commit(from, to, amount, a, wa, b, wb, start);
+            return;
+          }
+          a.unlockWrite(wa);
+        }
+      }
+      OPTIMISTIC.tryLockFailed();
+      Thread.onSpinWait();
+    }
+    long wa = a.writeLock(), wb = b.writeLock();
+    if (from.balanceInternal() < amount) {
+      b.unlockWrite(wb); a.unlockWrite(wa);
+      METRICS.failed();
+      throw new IllegalArgumentException("Insufficient funds");
+    }
+    commit(from, to, amount, a, wa, b, wb, start);
+  }
+  private static void commit(BankAccount from, BankAccount to, long amount, StampedLock a, long wa, StampedLock b,
+                             long wb, long start) {
+    long held = OPTIMISTIC.acquired(start);
+    try { from.withdrawInternal(amount); to.depositInternal(amount); }
+    finally { b.unlockWrite(wb); a.unlockWrite(wa); OPTIMISTIC.released(held); }
+    METRICS.transferred();
+  }
+
+  /**
+   * Applies every transfer atomically: locks the union of accounts once, in id() order (no deadlock with
+   * transferOrdered or other batches), checks funds in list order, then writes each account's net change.
+   * If any transfer would overdraw its source at its point in the list, nothing is applied.
+   *
+   * @throws IllegalArgumentException on insufficient funds (no balance changed)
+   */
+  public static void transferBatch(List<Transfer> batch) {
+    if (!batch.isEmpty()) settle(batch, true, null);
+  }
+  /**
+   * Locks the union once and applies the transfers in list order against scratch balances; only each account's
+   * net change is written. With allOrNothing a shortfall aborts the whole batch (IllegalArgumentException),
+   * otherwise just that transfer is skipped.
+   *
+   * @param applied if non-null, receives whether each transfer was applied
+   * @return how many account locks were taken
+   */
+  static int settle(List<Transfer> batch, boolean allOrNothing, boolean[] applied) {
+    var union = new AccountIndex(batch);
+    BankAccount[] locked = union.accounts;
+    long start = LockMetrics.now();
+    int held = 0;
+    try {
+      for (; held < locked.length; held++) locked[held].lock().lock();
+      long t0 = BATCH.acquired(start);
+      try { applyBatch(batch, union, allOrNothing, applied); return locked.length; }
+      finally { BATCH.released(t0); }
+    } finally {
+      for (int i = held - 1; i >= 0; i--) locked[i].lock().unlock();
+    }
+  }
+  private static void applyBatch(List<Transfer> batch, AccountIndex union, boolean allOrNothing, boolean[] applied) {
+    BankAccount[] accounts = union.accounts;
+    // Write stamps in lock order: optimistic transfers do not take the ReentrantLocks
+    long[] stamps = new long[accounts.length];
+    int stamped = 0;
+    try {
+      for (; stamped < accounts.length; stamped++) stamps[stamped] = accounts[stamped].version().writeLock();
+      applyStamped(batch, union, allOrNothing, applied);
+    } finally {
+      for (int i = stamped - 1; i >= 0; i--) accounts[i].version().unlockWrite(stamps[i]);
+    }
+  }
+  private static void applyStamped(List<Transfer> batch, AccountIndex union, boolean allOrNothing, boolean[] applied) {
+    BankAccount[] accounts = union.accounts;
+    // Pass 1 on a scratch copy: a failure leaves the accounts untouched
+    long[] balance = new long[accounts.length];
+    for (int i = 0; i < accounts.length; i++) balance[i] = accounts[i].balanceInternal();
+    long[] original = balance.clone();
+    int count = 0;
+    for (int i = 0, m = batch.size(); i < m; i++) {
+      Transfer t = batch.get(i);
+      int from = union.slot(t.from()), to = union.slot(t.to());
+      if (balance[from] < t.amount()) {
+        METRICS.failed();
+        if (allOrNothing) throw new IllegalArgumentException("Insufficient funds in account " + t.from().id() + " for batch");
+        continue;
+      }
+      balance[from] -= t.amount();
+      balance[to] += t.amount();
+      if (applied != null) applied[i] = true;
+      count++;
+    }
+    // Pass 2: one write per account
+    for (int i = 0; i < accounts.length; i++) {
+      long delta = balance[i] - original[i];
+      if (delta > 0) accounts[i].depositInternal(delta);
+      else if (delta < 0) accounts[i].withdrawInternal(-delta);
+    }
+    METRICS.transferred(count);
+  }
+
+  /**
+   * Distinct accounts of a batch sorted into lock order, plus an open-addressing identity table from account to
+   * its position (no boxing, no per-entry objects). De-duplicating first keeps the sort at the union size, and the
+   * sort runs on packed (id, position) longs: comparing accounts directly misses cache on every comparison.
+   */
+  private static final class AccountIndex {
+    private static final Comparator<BankAccount> LOCK_ORDER = Comparator.comparingLong(BankAccount::id);
+    final BankAccount[] accounts;
+    private final BankAccount[] keys;
+    private final int[] slots;
+    private final int mask;
+
+    AccountIndex(List<Transfer> batch) {
+      int m = batch.size();
+      int cap = Integer.highestOneBit(Math.max(2, 4 * m - 1)) << 1;
+      keys = new BankAccount[cap];
+      slots = new int[cap];
+      mask = cap - 1;
+      BankAccount[] unique = new BankAccount[2 * m];
+      int k = 0;
+      for (int i = 0; i < m; i++) {
+        Transfer t = batch.get(i);
+        if (insert(t.from())) unique[k++] = t.from();
+        if (insert(t.to())) unique[k++] = t.to();
+      }
+      accounts = inLockOrder(unique, k);
+      for (int i = 0; i < k; i++) slots[probe(accounts[i])] = i;
+    }
+
+    int slot(BankAccount acc) { return slots[probe(acc)]; }
+
+    private static BankAccount[] inLockOrder(BankAccount[] unique, int k) {
+      long[] packed = new long[k];
+      for (int i = 0; i < k; i++) {
+        long id = unique[i].id();
+        if (id < 0 || id > Integer.MAX_VALUE) {
+          // id << 32 stays in signed order only for ids in [0, 2^31): anything else takes the plain object sort
+          BankAccount[] out = Arrays.copyOf(unique, k);
+          Arrays.sort(out, LOCK_ORDER);
+          return out;
+        }
+        packed[i] = id << 32 | i;
+      }
+      Arrays.sort(packed);
+      BankAccount[] out = new BankAccount[k];
+      for (int i = 0; i < k; i++) out[i] = unique[(int) packed[i]];
+      return out;
+    }
+
+    private boolean insert(BankAccount acc) {
+      int p = probe(acc);
+      if (keys[p] == acc) return false;
+      keys[p] = acc;
+      return true;
+    }
+
+    private int probe(BankAccount acc) {
+      int p = (System.identityHashCode(acc) * 0x9E3779B9) >>> 7 & mask;
+      while (keys[p] != null && keys[p] != acc) p = (p + 1) & mask;
+      return p;
+    }
+  }
+  // The check and both writes share one write section of each version, so a concurrent optimistic transfer
+  // (which does not take the ReentrantLocks) cannot spend the funds between the check and the withdrawal
   private static void withdrawDeposit(BankAccount from, BankAccount to, long amount) {
-    if (from.balance() < amount) throw new IllegalArgumentException("Insufficient funds");
-    from.withdrawInternal(amount); to.depositInternal(amount);
+    BankAccount first = from.id() < to.id() ? from : to;
+    BankAccount second = first == from ? to : from;
+    long w1 = first.version().writeLock();
+    long w2 = second == first ? 0 : second.version().writeLock();
+    try {
+      if (from.balanceInternal() < amount) { METRICS.failed(); throw new IllegalArgumentException("Insufficient funds"); }
+      from.withdrawInternal(amount); to.depositInternal(amount);
+    } finally {
+      if (second != first) second.version().unlockWrite(w2);
+      first.version().unlockWrite(w1);
+    }
+    METRICS.transferred();
   }
   private static void sleepALittle() { try { Thread.sleep(5); } catch (InterruptedException ie) { Thread.currentThread().interrupt(); } }
 }
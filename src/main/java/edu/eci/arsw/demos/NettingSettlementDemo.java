@@ -0,0 +1,31 @@
+package edu.eci.arsw.demos;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import edu.eci.arsw.core.BankAccount;
+import edu.eci.arsw.core.SettlementEngine;
+
+public final class NettingSettlementDemo {
+  private NettingSettlementDemo() {}
+  public static void run() throws Exception {
+    var a = new BankAccount(1, 1000);
+    var b = new BankAccount(2, 1000);
+    int n = 100_000;
+    var done = new CompletableFuture<?>[2 * n];
+    try (var engine = new SettlementEngine(Duration.ofMillis(2))) {
+      try (var exec = Executors.newVirtualThreadPerTaskExecutor()) {
+        for (int i = 0; i < n; i++) {
+          int k = i;
+          exec.submit(() -> done[2 * k] = engine.submit(a, b, 1));
+          exec.submit(() -> done[2 * k + 1] = engine.submit(b, a, 1));
+        }
+      }
+      CompletableFuture.allOf(done).exceptionally(e -> null).join();
+      System.out.printf("NettingSettlementDemo: %,d transfers settled (%,d rejected) in %,d windows with %,d lock acquisitions (pairwise: %,d).%n",
+          engine.settled(), engine.rejected(), engine.windows(), engine.lockAcquisitions(), 4L * n);
+    }
+    System.out.printf("Balances: A=%d B=%d (total %d)%n", a.balance(), b.balance(), a.balance() + b.balance());
+  }
+}
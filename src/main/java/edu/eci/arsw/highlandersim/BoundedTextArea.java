@@ -0,0 +1,31 @@
+package edu.eci.arsw.highlandersim;
+
+import javax.swing.JTextArea;
+import javax.swing.text.BadLocationException;
+
+/**
+ * Área de texto que conserva solo las últimas {@code maxLines} líneas, como
+ * un ring: la memoria queda fija aunque la sesión dure horas.
+ */
+final class BoundedTextArea extends JTextArea {
+    private final int maxLines;
+
+    BoundedTextArea(int rows, int columns, int maxLines) {
+        super(rows, columns);
+        this.maxLines = maxLines;
+    }
+
+    @Override
+    public void append(String str) {
+        super.append(str);
+        int excess = getLineCount() - maxLines;
+        if (excess > 0) {
+            try {
+                getDocument().remove(0, getLineEndOffset(excess - 1));
+            } catch (BadLocationException e) {
+                // No puede ocurrir: el offset sale del mismo documento
+            }
+        }
+        setCaretPosition(getDocument().getLength());
+    }
+}
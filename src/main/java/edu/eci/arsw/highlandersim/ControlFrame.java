@@ -6,10 +6,14 @@ import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
-import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -19,30 +23,51 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JSpinner;
-import javax.swing.JTextArea;
+import javax.swing.JSplitPane;
+import javax.swing.JTabbedPane;
+import javax.swing.JTable;
 import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingUtilities;
 
-import edu.eci.arsw.immortals.Immortal;
 import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.ManagerSampler;
+import edu.eci.arsw.immortals.PausedCheck;
 
 public final class ControlFrame extends JFrame {
-    private ImmortalManager manager;
-    private final JTextArea output = new JTextArea(20, 60);
+    // Lo asigna el futuro de onStart fuera del EDT
+    private volatile ImmortalManager manager;
+    // Cada Start/Stop abre una generación nueva; un gestor creado para una
+    // generación vieja se detiene en lugar de publicarse. Publicar y retirar
+    // el gestor se hacen bajo managerLock, junto con el chequeo.
+    private final Object managerLock = new Object();
+    private long generation;
+    private ManagerSampler sampler;
+    // Log acotado: solo las últimas líneas (-Dui.logLines)
+    private final BoundedTextArea output = new BoundedTextArea(12, 60, Integer.getInteger("ui.logLines", 2000));
+    // Tabla virtualizada: solo se pintan las filas visibles
+    private final PopulationTableModel populationModel = new PopulationTableModel();
+    private final JTable populationTable = new JTable(populationModel);
+    // Peleas/s, vivos, salud total y latencia de pausa en vivo
+    private final ThroughputChart chart = new ThroughputChart(250);
     private final JButton startBtn = new JButton("Start");
     private final JButton pauseAndCheckBtn = new JButton("Pause & Check");
     private final JButton resumeBtn = new JButton("Resume");
     private final JButton stopBtn = new JButton("Stop");
     private final JButton deadlockBtn = new JButton("Check Deadlock");
 
-    private final JSpinner countSpinner = new JSpinner(new SpinnerNumberModel(8, 2, 10000, 1));
+    private final JSpinner countSpinner = new JSpinner(new SpinnerNumberModel(8, 2, 1_000_000, 1));
     private final JSpinner healthSpinner = new JSpinner(new SpinnerNumberModel(100, 10, 10000, 10));
     private final JSpinner damageSpinner = new JSpinner(new SpinnerNumberModel(10, 1, 1000, 1));
-    private final JComboBox<String> fightMode = new JComboBox<>(new String[]{"ordered", "naive", "trylock"});
+    private final JComboBox<String> fightMode = new JComboBox<>(new String[]{"ordered", "naive", "trylock", "escrow"});
+    private final JComboBox<String> executorType = new JComboBox<>(new String[]{"platform", "virtual"});
     
     private final JLabel statusLabel = new JLabel("Estado: Detenido");
 
     public ControlFrame(int count, String fight) {
+        this(count, fight, "platform");
+    }
+
+    public ControlFrame(int count, String fight, String executor) {
         setTitle("Highlander Simulator - ARSW Lab 3");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLayout(new BorderLayout(10, 10));
@@ -61,6 +86,9 @@ public final class ControlFrame extends JFrame {
         configPanel.add(new JLabel("Fight:"));
         fightMode.setSelectedItem(fight);
         configPanel.add(fightMode);
+        configPanel.add(new JLabel("Executor:"));
+        executorType.setSelectedItem(executor);
+        configPanel.add(executorType);
         
         JPanel statusPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         statusPanel.add(statusLabel);
@@ -76,7 +104,28 @@ public final class ControlFrame extends JFrame {
         output.setBackground(new Color(240, 240, 240));
         JScrollPane scrollPane = new JScrollPane(output);
         scrollPane.setBorder(BorderFactory.createTitledBorder("Output"));
-        add(scrollPane, BorderLayout.CENTER);
+
+        // Población (Pause & Check); clic en "Salud" invierte el orden
+        populationTable.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        populationTable.setFillsViewportHeight(true);
+        populationTable.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent ev) {
+                if (populationTable.columnAtPoint(ev.getPoint()) == 2) {
+                    populationModel.toggleOrder();
+                }
+            }
+        });
+        JScrollPane tablePane = new JScrollPane(populationTable);
+        tablePane.setBorder(BorderFactory.createTitledBorder("Población"));
+
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("Población", tablePane);
+        tabs.addTab("Throughput", chart);
+
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT, tabs, scrollPane);
+        split.setResizeWeight(0.5);
+        add(split, BorderLayout.CENTER);
         
         // Panel de botones
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
@@ -104,7 +153,8 @@ public final class ControlFrame extends JFrame {
         output.append(String.format("  Inmortales: %d\n", count));
         output.append(String.format("  Salud inicial: %d\n", (Integer)healthSpinner.getValue()));
         output.append(String.format("  Daño: %d\n", (Integer)damageSpinner.getValue()));
-        output.append(String.format("  Modo de lucha: %s\n\n", fight));
+        output.append(String.format("  Modo de lucha: %s\n", fight));
+        output.append(String.format("  Executor: %s\n\n", executor));
         output.append("Instrucciones:\n");
         output.append("1. Click 'Start' para iniciar simulación\n");
         output.append("2. Click 'Pause & Check' para verificar estado\n");
@@ -115,106 +165,150 @@ public final class ControlFrame extends JFrame {
         output.append("  - ordered: Sin deadlock (recomendado)\n");
         output.append("  - naive: Puede causar deadlock\n");
         output.append("  - trylock: Con timeout\n");
+        output.append("  - escrow: CAS sin locks (descuenta y luego acredita)\n\n");
+        output.append("Executors:\n");
+        output.append("  - platform: Un hilo del SO por inmortal (hasta miles)\n");
+        output.append("  - virtual: Virtual threads (100k - 1M inmortales)\n");
     }
 
     // PUNTO 11: START
+    // Crear y arrancar el gestor corre fuera del EDT (API asíncrona); la UI
+    // solo se actualiza cuando el futuro se completa.
     private void onStart(ActionEvent e) {
-        safeStop();
-        
         int n = (Integer) countSpinner.getValue();
         int health = (Integer) healthSpinner.getValue();
         int damage = (Integer) damageSpinner.getValue();
         String fight = (String) fightMode.getSelectedItem();
-        
+        String executor = (String) executorType.getSelectedItem();
+
+        populationModel.setSnapshot(PopulationTableModel.Snapshot.EMPTY);
         output.append("\n=== INICIANDO SIMULACIÓN ===\n");
         output.append(String.format("Parámetros:\n"));
         output.append(String.format("  Inmortales: %d\n", n));
         output.append(String.format("  Salud inicial: %d\n", health));
         output.append(String.format("  Daño: %d\n", damage));
         output.append(String.format("  Modo: %s\n", fight));
+        output.append(String.format("  Executor: %s\n", executor));
         output.append(String.format("  Invariante esperado: %,d (N * H)\n\n", (long)n * health));
-        
-        try {
-            manager = new ImmortalManager(n, fight, health, damage);
-            manager.start();
-            statusLabel.setText("Estado: Ejecutando (" + n + " inmortales)");
-            statusLabel.setForeground(Color.GREEN);
-            output.append("✅ Simulación iniciada correctamente\n");
-        } catch (Exception ex) {
-            output.append("❌ Error iniciando simulación: " + ex.getMessage() + "\n");
-            statusLabel.setText("Estado: Error");
-            statusLabel.setForeground(Color.RED);
+        startBtn.setEnabled(false);
+        statusLabel.setText("Estado: Creando " + n + " inmortales...");
+
+        CompletableFuture<Void> stopped = stopCurrent();
+        long gen;
+        synchronized (managerLock) {
+            gen = generation;
         }
+        stopped
+                .thenCompose(v -> ImmortalManager.createAsync(n, fight, health, damage, executor))
+                .thenCompose(m -> {
+                    synchronized (managerLock) {
+                        if (generation == gen) {
+                            manager = m;
+                            return m.startAsync();
+                        }
+                    }
+                    // Stop (u otro Start) llegó mientras se creaba: nunca arranca
+                    return m.stopAsync().thenRun(() -> {
+                        throw new CancellationException("Inicio cancelado");
+                    });
+                })
+                .whenComplete((v, ex) -> SwingUtilities.invokeLater(() -> {
+                    startBtn.setEnabled(true);
+                    if (ex != null && cause(ex) instanceof CancellationException) {
+                        output.append("⏹ Inicio cancelado antes de arrancar\n");
+                    } else if (ex == null) {
+                        ImmortalManager m = manager;
+                        if (m != null) {
+                            // 4 muestras/s, últimos 2 minutos
+                            sampler = new ManagerSampler(m, 250, 480);
+                            chart.setSeries(sampler.series());
+                        }
+                        statusLabel.setText("Estado: Ejecutando (" + n + " inmortales)");
+                        statusLabel.setForeground(Color.GREEN);
+                        output.append("✅ Simulación iniciada correctamente\n");
+                    } else {
+                        output.append("❌ Error iniciando simulación: " + cause(ex).getMessage() + "\n");
+                        statusLabel.setText("Estado: Error");
+                        statusLabel.setForeground(Color.RED);
+                    }
+                }));
     }
 
     // PUNTOS 3, 5: PAUSE & CHECK
-    // En el método onPauseAndCheck, simplificar:
-private void onPauseAndCheck(ActionEvent e) {
-    if (manager == null || !manager.isRunning()) {
-        output.append("\n⚠️ No hay simulación ejecutándose\n");
-        return;
-    }
-    
-    output.append("\n=== PAUSE & CHECK ===\n");
-    
-    try {
-        // Pausar
-        manager.pause();
-        
-        // Tomar snapshot
-        List<Immortal> pop = manager.populationSnapshot();
-        
-        // Calcular
-        long sum = 0;
-        StringBuilder sb = new StringBuilder();
-        
-        for (Immortal im : pop) {
-            int h = im.getHealth();
-            sum += h;
-            sb.append(String.format("%-14s : %5d\n", im.name(), h));
+    // La pausa, los vivos y la suma de salud son un solo comando del hilo de
+    // control (un Resume no se cuela entre ellos); solo el orden de filas va
+    // al pool común y la tabla recibe el resultado en el EDT.
+    private void onPauseAndCheck(ActionEvent e) {
+        ImmortalManager m = manager;
+        if (m == null || !m.isRunning()) {
+            output.append("\n⚠️ No hay simulación ejecutándose\n");
+            return;
         }
-        
-        // Verificar invariante
-        int n = (Integer) countSpinner.getValue();
-        int health = (Integer) healthSpinner.getValue();
-        long expected = (long) n * health;
-        
-        sb.append("--------------------------------\n");
-        sb.append("Total Health: ").append(sum).append("\n");
-        sb.append("Expected: ").append(expected).append("\n");
-        sb.append("Difference: ").append(Math.abs(expected - sum)).append("\n");
-        sb.append("Invariant OK: ").append(sum == expected).append("\n");
-        sb.append("Threads paused: ").append(manager.controller().getPausedThreadsCount())
-        .append("/").append(manager.controller().getTotalThreads()).append("\n");
-        
-        output.append(sb.toString());
-        
-    } catch (Exception ex) {
-        output.append("Error: " + ex.getMessage() + "\n");
+
+        output.append("\n=== PAUSE & CHECK ===\n");
+        pauseAndCheckBtn.setEnabled(false);
+
+        m.pauseAndCheckAsync()
+                // Ordenar 1M de filas no debe ocupar el hilo de control ni el EDT
+                .thenApplyAsync(pc -> new Check(PopulationTableModel.snapshot(pc.alive(), m.scoreBoard()), pc))
+                .whenComplete((check, ex) -> SwingUtilities.invokeLater(() -> {
+                    pauseAndCheckBtn.setEnabled(true);
+                    if (ex != null) {
+                        output.append("Error: " + cause(ex).getMessage() + "\n");
+                        return;
+                    }
+                    populationModel.setSnapshot(check.snap());
+                    PausedCheck pc = check.pause();
+                    long sum = pc.totalHealth();
+                    long expected = pc.expectedHealth();
+                    StringBuilder sb = new StringBuilder();
+                    sb.append("Vivos: ").append(check.snap().size()).append(" (ver tabla)\n");
+                    sb.append("--------------------------------\n");
+                    sb.append("Total Health: ").append(sum).append("\n");
+                    sb.append("Expected: ").append(expected).append("\n");
+                    sb.append("Difference: ").append(Math.abs(expected - sum)).append("\n");
+                    sb.append("Invariant OK: ").append(sum == expected).append("\n");
+                    sb.append("Threads paused: ").append(pc.pausedThreads())
+                            .append("/").append(pc.totalThreads())
+                            .append(pc.quiescent() ? "" : " (pausa incompleta: la suma puede no ser exacta)")
+                            .append("\n");
+                    output.append(sb.toString());
+                }));
+    }
+
+    // Población ordenada + la verificación tomada en el hilo de control
+    private record Check(PopulationTableModel.Snapshot snap, PausedCheck pause) {
     }
-}
 
     // PUNTO 4: RESUME
     private void onResume(ActionEvent e) {
-        if (manager == null || !manager.isRunning()) {
+        ImmortalManager m = manager;
+        if (m == null || !m.isRunning()) {
             output.append("\n⚠️ No hay simulación ejecutándose\n");
             return;
         }
-        
+
         output.append("\n=== RESUMIENDO ===\n");
-        manager.resume();
-        statusLabel.setText("Estado: Ejecutando");
-        statusLabel.setForeground(Color.GREEN);
-        output.append("✅ Simulación reanudada\n");
+        m.resumeAsync().whenComplete((v, ex) -> SwingUtilities.invokeLater(() -> {
+            if (ex != null) {
+                output.append("⚠️ Error reanudando: " + cause(ex).getMessage() + "\n");
+                return;
+            }
+            statusLabel.setText("Estado: Ejecutando");
+            statusLabel.setForeground(Color.GREEN);
+            output.append("✅ Simulación reanudada\n");
+        }));
     }
 
     // PUNTO 11: STOP ordenado
     private void onStop(ActionEvent e) {
         output.append("\n=== DETENIENDO SIMULACIÓN ===\n");
-        safeStop();
-        statusLabel.setText("Estado: Detenido");
-        statusLabel.setForeground(Color.RED);
-        output.append("✅ Simulación detenida correctamente\n");
+        statusLabel.setText("Estado: Deteniendo...");
+        stopCurrent().thenRun(() -> SwingUtilities.invokeLater(() -> {
+            statusLabel.setText("Estado: Detenido");
+            statusLabel.setForeground(Color.RED);
+            output.append("✅ Simulación detenida correctamente\n");
+        }));
     }
     
     // PUNTO 7: Verificar deadlocks
@@ -223,15 +317,29 @@ private void onPauseAndCheck(ActionEvent e) {
         checkForDeadlocks();
     }
     
-    private void safeStop() {
-        if (manager != null) {
-            try {
-                manager.stop();
-            } catch (Exception ex) {
-                output.append("⚠️ Error deteniendo: " + ex.getMessage() + "\n");
-            }
+    // Detiene el gestor actual sin bloquear el EDT; nunca falla
+    private CompletableFuture<Void> stopCurrent() {
+        if (sampler != null) {
+            sampler.close();
+            sampler = null;
+        }
+        ImmortalManager m;
+        synchronized (managerLock) {
+            generation++;
+            m = manager;
             manager = null;
         }
+        if (m == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return m.stopAsync().exceptionally(ex -> {
+            SwingUtilities.invokeLater(() -> output.append("⚠️ Error deteniendo: " + cause(ex).getMessage() + "\n"));
+            return null;
+        });
+    }
+
+    private static Throwable cause(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
     }
     
     // PUNTO 7: Método para detectar deadlocks
@@ -279,7 +387,8 @@ private void onPauseAndCheck(ActionEvent e) {
     public static void main(String[] args) {
         int count = Integer.getInteger("count", 8);
         String fight = System.getProperty("fight", "ordered");
+        String executor = System.getProperty("executor", "platform");
         
-        SwingUtilities.invokeLater(() -> new ControlFrame(count, fight));
+        SwingUtilities.invokeLater(() -> new ControlFrame(count, fight, executor));
     }
 }
\ No newline at end of file
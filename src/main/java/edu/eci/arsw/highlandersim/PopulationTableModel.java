@@ -0,0 +1,122 @@
+package edu.eci.arsw.highlandersim;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.table.AbstractTableModel;
+
+import edu.eci.arsw.immortals.Immortal;
+import edu.eci.arsw.immortals.ScoreBoard;
+
+/**
+ * Modelo de la tabla de población respaldado por un snapshot inmutable.
+ *
+ * El snapshot (arreglos primitivos ya ordenados por salud) se arma fuera del
+ * EDT con {@link #snapshot(List, ScoreBoard)}; en el EDT solo se reemplaza la
+ * referencia. JTable pide únicamente las filas visibles, así que 1M de filas
+ * cuestan lo mismo de pintar que 20. Invertir el orden es O(1).
+ */
+final class PopulationTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS = { "#", "Inmortal", "Salud", "Daño hecho", "Daño recibido" };
+
+    /**
+     * Población congelada, ordenada por salud descendente.
+     */
+    record Snapshot(String[] names, int[] health, long[] dealt, long[] received, long totalHealth) {
+        static final Snapshot EMPTY = new Snapshot(new String[0], new int[0], new long[0], new long[0], 0);
+
+        int size() {
+            return names.length;
+        }
+    }
+
+    private Snapshot snap = Snapshot.EMPTY;
+    private boolean ascending = false;
+
+    /**
+     * Copia y ordena la población; pensado para correr fuera del EDT.
+     */
+    static Snapshot snapshot(List<Immortal> pop, ScoreBoard scoreBoard) {
+        int n = pop.size();
+        // Orden por salud sin comparadores ni boxing: clave = [salud | índice]
+        long[] keys = new long[n];
+        int[] rawHealth = new int[n];
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            int h = pop.get(i).getHealth();
+            rawHealth[i] = h;
+            total += h;
+            keys[i] = ((long) h << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        String[] names = new String[n];
+        int[] health = new int[n];
+        long[] dealt = new long[n];
+        long[] received = new long[n];
+        for (int r = 0; r < n; r++) {
+            int i = (int) keys[n - 1 - r];
+            Immortal im = pop.get(i);
+            names[r] = im.name();
+            health[r] = rawHealth[i];
+            dealt[r] = scoreBoard.damageDealt(im);
+            received[r] = scoreBoard.damageReceived(im);
+        }
+        return new Snapshot(names, health, dealt, received, total);
+    }
+
+    /**
+     * Solo desde el EDT.
+     */
+    void setSnapshot(Snapshot snap) {
+        this.snap = snap;
+        fireTableDataChanged();
+    }
+
+    Snapshot snapshot() {
+        return snap;
+    }
+
+    void toggleOrder() {
+        ascending = !ascending;
+        fireTableDataChanged();
+    }
+
+    boolean ascending() {
+        return ascending;
+    }
+
+    @Override
+    public int getRowCount() {
+        return snap.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        if (column == 2)
+            return COLUMNS[2] + (ascending ? " ▲" : " ▼");
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 1 ? String.class : Long.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int i = ascending ? snap.size() - 1 - row : row;
+        return switch (column) {
+            case 0 -> (long) row + 1;
+            case 1 -> snap.names()[i];
+            case 2 -> (long) snap.health()[i];
+            case 3 -> snap.dealt()[i];
+            default -> snap.received()[i];
+        };
+    }
+}
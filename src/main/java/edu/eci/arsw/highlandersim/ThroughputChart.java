@@ -0,0 +1,120 @@
+package edu.eci.arsw.highlandersim;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+import javax.swing.JComponent;
+import javax.swing.Timer;
+
+import edu.eci.arsw.concurrency.TimeSeriesRing;
+
+/**
+ * Gráfica liviana de una {@link TimeSeriesRing}: una banda por columna con
+ * su polilínea, mínimo/máximo y último valor.
+ *
+ * Las muestras llegan desde otro hilo; aquí solo un Timer del EDT revisa la
+ * versión de la serie y repinta si cambió, así varias muestras seguidas se
+ * funden en un solo repintado.
+ */
+final class ThroughputChart extends JComponent {
+    private static final Color[] COLORS = {
+            new Color(33, 150, 243), new Color(76, 175, 80), new Color(255, 152, 0), new Color(156, 39, 176) };
+
+    private volatile TimeSeriesRing series;
+    private long paintedVersion = -1;
+
+    ThroughputChart(int refreshMs) {
+        setPreferredSize(new Dimension(600, 240));
+        setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
+        Timer refresh = new Timer(refreshMs, e -> {
+            TimeSeriesRing s = series;
+            if (s != null && s.version() != paintedVersion) {
+                repaint();
+            }
+        });
+        refresh.start();
+    }
+
+    /**
+     * Serie a mostrar (null = vacía). Solo desde el EDT.
+     */
+    void setSeries(TimeSeriesRing series) {
+        this.series = series;
+        paintedVersion = -1;
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setColor(getBackground() != null ? getBackground() : Color.WHITE);
+            g2.fillRect(0, 0, getWidth(), getHeight());
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            TimeSeriesRing s = series;
+            if (s == null) {
+                g2.setColor(Color.GRAY);
+                g2.drawString("Sin simulación", 10, 20);
+                return;
+            }
+            paintedVersion = s.version();
+            TimeSeriesRing.Window w = s.window();
+            int bands = w.columns().length;
+            int bandH = getHeight() / Math.max(1, bands);
+            for (int c = 0; c < bands; c++) {
+                paintBand(g2, w, c, c * bandH, bandH, s.capacity());
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    private void paintBand(Graphics2D g2, TimeSeriesRing.Window w, int c, int top, int h, int capacity) {
+        double[] v = w.values()[c];
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double x : v) {
+            if (!Double.isNaN(x)) {
+                min = Math.min(min, x);
+                max = Math.max(max, x);
+            }
+        }
+
+        g2.setColor(Color.LIGHT_GRAY);
+        g2.drawLine(0, top + h - 1, getWidth(), top + h - 1);
+        g2.setColor(COLORS[c % COLORS.length]);
+        String label = String.format("%s: %,.0f", w.columns()[c], w.last(c));
+        if (min <= max) {
+            label += String.format("  [%,.0f – %,.0f]", min, max);
+        }
+        g2.drawString(label, 6, top + 13);
+        if (min > max) {
+            return;
+        }
+
+        // Eje x fijo a la capacidad: la curva avanza de izquierda a derecha
+        int plotTop = top + 18;
+        int plotH = Math.max(1, h - 22);
+        double span = max > min ? max - min : 1;
+        double dx = (double) getWidth() / Math.max(1, capacity - 1);
+        int prevX = -1, prevY = -1;
+        for (int k = 0; k < v.length; k++) {
+            if (Double.isNaN(v[k])) {
+                prevX = -1;
+                continue;
+            }
+            int x = (int) Math.round((capacity - v.length + k) * dx);
+            int y = plotTop + plotH - (int) Math.round((v[k] - min) / span * plotH);
+            if (prevX >= 0) {
+                g2.drawLine(prevX, prevY, x, y);
+            }
+            prevX = x;
+            prevY = y;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package edu.eci.arsw.immortals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Conjunto concurrente de inmortales vivos.
+ *
+ * Los miembros viven en un arreglo denso; cada inmortal guarda su posición
+ * ({@code slot}). Eliminar mueve el último elemento al hueco (swap-remove), y
+ * muestrear es elegir un índice al azar en {@code [0, size)}: ambas son O(1)
+ * y no se degradan a medida que la población se reduce. Las lecturas usan el
+ * modo optimista de {@link StampedLock}, así que los muestreos no escriben
+ * estado compartido.
+ */
+public final class AliveRegistry {
+    private final StampedLock lock = new StampedLock();
+    private Immortal[] members;
+    private int size;
+
+    public AliveRegistry(int initialCapacity) {
+        this.members = new Immortal[Math.max(initialCapacity, 2)];
+    }
+
+    public void add(Immortal im) {
+        long stamp = lock.writeLock();
+        try {
+            if (im.slot >= 0)
+                return;
+            if (size == members.length)
+                members = Arrays.copyOf(members, size * 2);
+            members[size] = im;
+            im.slot = size++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Elimina en O(1) moviendo el último miembro al hueco.
+     *
+     * @return true si el inmortal estaba registrado
+     */
+    public boolean remove(Immortal im) {
+        long stamp = lock.writeLock();
+        try {
+            int i = im.slot;
+            if (i < 0)
+                return false;
+            Immortal last = members[--size];
+            members[i] = last;
+            last.slot = i;
+            members[size] = null;
+            im.slot = -1;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Muestra uniforme de un miembro vivo distinto de {@code self}, en O(1).
+     *
+     * @return null solo si no queda ningún otro miembro
+     */
+    public Immortal sampleOther(Immortal self) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Immortal[] arr = members;
+            int n = size;
+            int selfSlot = self.slot;
+            Immortal pick = pick(arr, n, selfSlot, rnd);
+            if (lock.validate(stamp))
+                return pick;
+        }
+
+        stamp = lock.readLock();
+        try {
+            return pick(members, size, self.slot, rnd);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Sin el propio slot quedan n-1 candidatos: se sortea en [0, n-1) y se
+    // salta el índice propio. Los índices se validan porque en lectura
+    // optimista arr/n/selfSlot pueden venir de estados distintos.
+    private static Immortal pick(Immortal[] arr, int n, int selfSlot, ThreadLocalRandom rnd) {
+        n = Math.min(n, arr.length);
+        boolean selfInside = selfSlot >= 0 && selfSlot < n;
+        int candidates = selfInside ? n - 1 : n;
+        if (candidates <= 0)
+            return null;
+        int r = rnd.nextInt(candidates);
+        if (selfInside && r >= selfSlot)
+            r++;
+        return arr[r];
+    }
+
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int n = size;
+        if (lock.validate(stamp))
+            return n;
+        stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Copia de los miembros actuales (O(n)).
+     */
+    public List<Immortal> snapshot() {
+        long stamp = lock.readLock();
+        try {
+            return new ArrayList<>(Arrays.asList(members).subList(0, size));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < size; i++) {
+                members[i].slot = -1;
+                members[i] = null;
+            }
+            size = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+}
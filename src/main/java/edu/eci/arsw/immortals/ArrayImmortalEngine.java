@@ -0,0 +1,339 @@
+package edu.eci.arsw.immortals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+import edu.eci.arsw.concurrency.Log;
+import edu.eci.arsw.concurrency.PauseController;
+
+/**
+ * Motor alternativo "struct-of-arrays" para poblaciones de millones.
+ *
+ * En lugar de un objeto {@link Immortal} por entidad (lock justo, monitor,
+ * nombre, hilo, referencias), el estado vive en arreglos primitivos indexados
+ * por id: salud en {@code health[]}, y el conjunto de vivos en {@code alive[]}
+ * / {@code slotOf[]} con swap-remove como {@link AliveRegistry}. La salud se
+ * protege con locks rayados (stripe = id & mask) tomados en orden de stripe.
+ *
+ * Un número fijo de workers recorre cada uno su rebanada de ids; con
+ * {@code paceMillis} > 0 cada pasada dura al menos eso, o sea una pelea por
+ * inmortal cada paceMillis como el sleep de {@link Immortal}. Un worker
+ * cuya rebanada ya no tiene vivos termina. El invariante es el mismo de {@link ImmortalManager#checkInvariant()}: la suma
+ * de salud debe ser N × H en cada punto de pausa.
+ */
+public final class ArrayImmortalEngine implements AutoCloseable {
+    // Cada cuántos ids recorridos un worker revisa la pausa
+    private static final int CHUNK = 256;
+
+    private final int count;
+    private final int initialHealth;
+    private final int damage;
+
+    private final int[] health;
+    private final ReentrantLock[] stripes;
+    private final int stripeMask;
+
+    // Conjunto de vivos: alive[0..aliveCount) son ids, slotOf[id] su posición
+    private final StampedLock aliveLock = new StampedLock();
+    private final int[] alive;
+    private final int[] slotOf;
+    private int aliveCount;
+
+    private final int workers;
+    private final long paceNanos;
+    private final PauseController controller = new PauseController();
+    private final LongAdder fights = new LongAdder();
+    private final LongAdder kills = new LongAdder();
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final List<Thread> threads = new ArrayList<>();
+    private long startNanos;
+
+    public ArrayImmortalEngine(int n, int initialHealth, int damage) {
+        this(n, initialHealth, damage, Runtime.getRuntime().availableProcessors(), 1024);
+    }
+
+    /**
+     * @param workers hilos que recorren rebanadas de los arreglos
+     * @param stripes cantidad de locks de salud (se redondea a potencia de 2)
+     */
+    public ArrayImmortalEngine(int n, int initialHealth, int damage, int workers, int stripes) {
+        this(n, initialHealth, damage, workers, stripes, 0);
+    }
+
+    /**
+     * @param paceMillis duración mínima de una pasada por la rebanada; 0 = sin
+     *                   pausa entre peleas
+     */
+    public ArrayImmortalEngine(int n, int initialHealth, int damage, int workers, int stripes, long paceMillis) {
+        if (n <= 1)
+            throw new IllegalArgumentException("N debe ser > 1");
+        if (initialHealth <= 0)
+            throw new IllegalArgumentException("Salud debe ser > 0");
+        if (damage <= 0)
+            throw new IllegalArgumentException("Daño debe ser > 0");
+        if (workers <= 0 || stripes <= 0)
+            throw new IllegalArgumentException("Workers y stripes deben ser > 0");
+        if (paceMillis < 0)
+            throw new IllegalArgumentException("Pace debe ser >= 0");
+
+        this.count = n;
+        this.initialHealth = initialHealth;
+        this.damage = damage;
+        this.workers = Math.min(workers, n);
+        this.paceNanos = paceMillis * 1_000_000L;
+
+        int s = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ReentrantLock[s];
+        for (int i = 0; i < s; i++)
+            this.stripes[i] = new ReentrantLock();
+        this.stripeMask = s - 1;
+
+        this.health = new int[n];
+        this.alive = new int[n];
+        this.slotOf = new int[n];
+        for (int id = 0; id < n; id++) {
+            health[id] = initialHealth;
+            alive[id] = id;
+            slotOf[id] = id;
+        }
+        this.aliveCount = n;
+        controller.setTotalThreads(this.workers);
+    }
+
+    public synchronized void start() {
+        if (!running.compareAndSet(false, true))
+            return;
+        startNanos = System.nanoTime();
+        for (int w = 0; w < workers; w++) {
+            int from = (int) ((long) count * w / workers);
+            int to = (int) ((long) count * (w + 1) / workers);
+            Thread t = new Thread(() -> work(from, to), "ArrayEngine-Worker-" + w);
+            t.setDaemon(true);
+            threads.add(t);
+            t.start();
+        }
+    }
+
+    private void work(int from, int to) {
+        long local = 0;
+        try {
+            while (running.get() && aliveCount() > 1) {
+                long passStart = System.nanoTime();
+                int live = 0;
+                for (int base = from; base < to && running.get(); base += CHUNK) {
+                    controller.awaitIfPaused();
+                    int end = Math.min(base + CHUNK, to);
+                    for (int id = base; id < end; id++) {
+                        if (health[id] <= 0)
+                            continue;
+                        live++;
+                        int opp = sampleOther(id);
+                        if (opp >= 0 && fight(id, opp))
+                            local++;
+                    }
+                    fights.add(local);
+                    local = 0;
+                }
+                // Los muertos no vuelven: sin vivos en la rebanada no queda trabajo
+                if (live == 0)
+                    break;
+                long rest = paceNanos - (System.nanoTime() - passStart);
+                if (rest > 0)
+                    Thread.sleep(rest / 1_000_000L, (int) (rest % 1_000_000L));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            fights.add(local);
+            controller.removeThread();
+        }
+    }
+
+    private boolean fight(int a, int b) {
+        int sa = a & stripeMask;
+        int sb = b & stripeMask;
+        ReentrantLock first = stripes[Math.min(sa, sb)];
+        ReentrantLock second = stripes[Math.max(sa, sb)];
+
+        first.lock();
+        try {
+            if (second != first)
+                second.lock();
+            try {
+                if (health[a] <= 0 || health[b] <= 0)
+                    return false;
+                health[b] -= damage;
+                health[a] += damage;
+                if (health[b] <= 0) {
+                    removeAlive(b);
+                    kills.increment();
+                }
+                return true;
+            } finally {
+                if (second != first)
+                    second.unlock();
+            }
+        } finally {
+            first.unlock();
+        }
+    }
+
+    private int sampleOther(int self) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        long stamp = aliveLock.tryOptimisticRead();
+        if (stamp != 0) {
+            int pick = pick(self, rnd);
+            if (aliveLock.validate(stamp))
+                return pick;
+        }
+        stamp = aliveLock.readLock();
+        try {
+            return pick(self, rnd);
+        } finally {
+            aliveLock.unlockRead(stamp);
+        }
+    }
+
+    private int pick(int self, ThreadLocalRandom rnd) {
+        int n = aliveCount;
+        int selfSlot = slotOf[self];
+        boolean selfInside = selfSlot >= 0 && selfSlot < n;
+        int candidates = selfInside ? n - 1 : n;
+        if (candidates <= 0)
+            return -1;
+        int r = rnd.nextInt(candidates);
+        if (selfInside && r >= selfSlot)
+            r++;
+        return alive[r];
+    }
+
+    private void removeAlive(int id) {
+        long stamp = aliveLock.writeLock();
+        try {
+            int i = slotOf[id];
+            if (i < 0)
+                return;
+            int last = alive[--aliveCount];
+            alive[i] = last;
+            slotOf[last] = i;
+            slotOf[id] = -1;
+        } finally {
+            aliveLock.unlockWrite(stamp);
+        }
+    }
+
+    public void pause() {
+        if (!running.get())
+            return;
+        controller.pause();
+        try {
+            controller.waitForAllPaused(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void resume() {
+        controller.resume();
+    }
+
+    public synchronized void stop() {
+        if (!running.getAndSet(false))
+            return;
+        controller.forceResume();
+        for (Thread t : threads) {
+            try {
+                t.join(3000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        threads.clear();
+    }
+
+    /**
+     * Suma de salud; exacta con el motor pausado o detenido.
+     */
+    public long totalHealth() {
+        long sum = 0;
+        for (int h : health)
+            sum += h;
+        return sum;
+    }
+
+    public long getExpectedTotalHealth() {
+        return (long) count * initialHealth;
+    }
+
+    public boolean checkInvariant() {
+        long expected = getExpectedTotalHealth();
+        long actual = totalHealth();
+        boolean ok = actual == expected;
+        Log.info("[INVARIANT] Esperado: %,d | Actual: %,d | OK: %s",
+                expected, actual, ok ? "✅" : "❌");
+        return ok;
+    }
+
+    public int aliveCount() {
+        long stamp = aliveLock.tryOptimisticRead();
+        int n = aliveCount;
+        if (aliveLock.validate(stamp))
+            return n;
+        stamp = aliveLock.readLock();
+        try {
+            return aliveCount;
+        } finally {
+            aliveLock.unlockRead(stamp);
+        }
+    }
+
+    public int health(int id) {
+        return health[id];
+    }
+
+    public long getTotalFights() {
+        return fights.sum();
+    }
+
+    public long getKills() {
+        return kills.sum();
+    }
+
+    public double fightsPerSecond() {
+        long elapsed = System.nanoTime() - startNanos;
+        return startNanos == 0 || elapsed <= 0 ? 0 : fights.sum() * 1e9 / elapsed;
+    }
+
+    /**
+     * Bytes por inmortal del estado en arreglos: health + alive + slotOf (3 ints)
+     * más los locks rayados repartidos entre la población.
+     */
+    public double bytesPerImmortal() {
+        // ~48 B por ReentrantLock con su Sync, + la referencia en el arreglo
+        long stripeBytes = (long) stripes.length * (48 + 4);
+        return 3.0 * Integer.BYTES + (double) stripeBytes / count;
+    }
+
+    public int workers() {
+        return workers;
+    }
+
+    public PauseController controller() {
+        return controller;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+}
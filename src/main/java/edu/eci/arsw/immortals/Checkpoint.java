@@ -0,0 +1,175 @@
+package edu.eci.arsw.immortals;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Checkpoint binario de un {@link ImmortalManager} pausado, escrito y leído
+ * con un archivo mapeado en memoria.
+ *
+ * Formato (big-endian), por columnas para copiar arreglos enteros de una vez:
+ *
+ * <pre>
+ * cabecera: magic "IMMC" | versión | N | H | daño | fair | modo | executor
+ *           | deadHealthSum | deadRemoved | peleas | muertes | tryLock perdidos
+ * columnas: salud int[N] | vivo byte[N] | daño hecho long[N] | recibido long[N]
+ *           | largo de nombre int[N] | bytes UTF-8 de los nombres
+ * </pre>
+ *
+ * Las cadenas de la cabecera van como largo (int) + bytes UTF-8. El orden de
+ * las filas es el orden de creación (el id relativo dentro del gestor).
+ */
+final class Checkpoint {
+    private static final int MAGIC = 0x494D4D43; // "IMMC"
+    private static final int VERSION = 1;
+
+    private Checkpoint() {
+    }
+
+    /**
+     * Estado completo de un gestor; en write() viene del gestor pausado, en
+     * read() del archivo.
+     */
+    record State(int initialHealth, int damage, boolean fairLocks, String fightMode, String executorType,
+            long deadHealthSum, int deadRemoved, long totalFights, long kills, long tryLockMisses,
+            String[] names, int[] health, boolean[] alive, long[] dealt, long[] received) {
+        int size() {
+            return names.length;
+        }
+    }
+
+    /**
+     * @return bytes escritos
+     */
+    static long write(State s, Path file) throws IOException {
+        int n = s.size();
+        byte[] mode = s.fightMode().getBytes(StandardCharsets.UTF_8);
+        byte[] exec = s.executorType().getBytes(StandardCharsets.UTF_8);
+        // Nombres ASCII (el caso normal) se copian carácter a carácter sin
+        // crear un byte[] por nombre; los demás se codifican aparte.
+        byte[][] encoded = null;
+        int[] nameLen = new int[n];
+        long nameBytes = 0;
+        for (int i = 0; i < n; i++) {
+            String name = s.names()[i];
+            if (isAscii(name)) {
+                nameLen[i] = name.length();
+            } else {
+                if (encoded == null)
+                    encoded = new byte[n][];
+                encoded[i] = name.getBytes(StandardCharsets.UTF_8);
+                nameLen[i] = encoded[i].length;
+            }
+            nameBytes += nameLen[i];
+        }
+        byte[] alive = new byte[n];
+        for (int i = 0; i < n; i++)
+            alive[i] = (byte) (s.alive()[i] ? 1 : 0);
+
+        long header = 4L * 6 + 4 + mode.length + 4 + exec.length + 8 + 4 + 8 * 3;
+        long size = header + 4L * n + n + 8L * n * 2 + 4L * n + nameBytes;
+        if (size > Integer.MAX_VALUE)
+            throw new IOException("Checkpoint demasiado grande para un solo mapeo: " + size + " bytes");
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buf.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(s.initialHealth()).putInt(s.damage())
+                    .putInt(s.fairLocks() ? 1 : 0);
+            buf.putInt(mode.length).put(mode);
+            buf.putInt(exec.length).put(exec);
+            buf.putLong(s.deadHealthSum()).putInt(s.deadRemoved());
+            buf.putLong(s.totalFights()).putLong(s.kills()).putLong(s.tryLockMisses());
+
+            // Columnas: copias masivas sobre vistas del buffer
+            buf.asIntBuffer().put(s.health());
+            buf.position(buf.position() + 4 * n);
+            buf.put(alive);
+            buf.asLongBuffer().put(s.dealt());
+            buf.position(buf.position() + 8 * n);
+            buf.asLongBuffer().put(s.received());
+            buf.position(buf.position() + 8 * n);
+            buf.asIntBuffer().put(nameLen);
+            buf.position(buf.position() + 4 * n);
+            for (int i = 0; i < n; i++) {
+                if (encoded != null && encoded[i] != null) {
+                    buf.put(encoded[i]);
+                } else {
+                    String name = s.names()[i];
+                    for (int c = 0; c < name.length(); c++)
+                        buf.put((byte) name.charAt(c));
+                }
+            }
+            buf.force();
+        }
+        return size;
+    }
+
+    static State read(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (buf.getInt() != MAGIC)
+                throw new IOException("No es un checkpoint de inmortales: " + file);
+            int version = buf.getInt();
+            if (version != VERSION)
+                throw new IOException("Versión de checkpoint no soportada: " + version);
+            int n = buf.getInt();
+            int initialHealth = buf.getInt();
+            int damage = buf.getInt();
+            boolean fair = buf.getInt() != 0;
+            String mode = string(buf);
+            String exec = string(buf);
+            long deadHealthSum = buf.getLong();
+            int deadRemoved = buf.getInt();
+            long fights = buf.getLong();
+            long kills = buf.getLong();
+            long misses = buf.getLong();
+
+            int[] health = new int[n];
+            buf.asIntBuffer().get(health);
+            buf.position(buf.position() + 4 * n);
+            byte[] aliveBytes = new byte[n];
+            buf.get(aliveBytes);
+            boolean[] alive = new boolean[n];
+            for (int i = 0; i < n; i++)
+                alive[i] = aliveBytes[i] != 0;
+            long[] dealt = new long[n];
+            buf.asLongBuffer().get(dealt);
+            buf.position(buf.position() + 8 * n);
+            long[] received = new long[n];
+            buf.asLongBuffer().get(received);
+            buf.position(buf.position() + 8 * n);
+            int[] nameLen = new int[n];
+            buf.asIntBuffer().get(nameLen);
+            buf.position(buf.position() + 4 * n);
+            String[] names = new String[n];
+            byte[] tmp = new byte[64];
+            for (int i = 0; i < n; i++) {
+                if (nameLen[i] > tmp.length)
+                    tmp = new byte[nameLen[i]];
+                buf.get(tmp, 0, nameLen[i]);
+                names[i] = new String(tmp, 0, nameLen[i], StandardCharsets.UTF_8);
+            }
+            return new State(initialHealth, damage, fair, mode, exec, deadHealthSum, deadRemoved, fights, kills,
+                    misses, names, health, alive, dealt, received);
+        }
+    }
+
+    private static boolean isAscii(String str) {
+        for (int c = 0; c < str.length(); c++) {
+            if (str.charAt(c) >= 0x80)
+                return false;
+        }
+        return true;
+    }
+
+    private static String string(MappedByteBuffer buf) {
+        byte[] b = new byte[buf.getInt()];
+        buf.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
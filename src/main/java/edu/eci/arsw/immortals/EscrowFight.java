@@ -0,0 +1,15 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Modo escrow: sin monitores ni ReentrantLock. El daño se descuenta del
+ * oponente con CAS (solo si sigue vivo) y luego se acredita al atacante.
+ * Entre ambos pasos la cantidad está "en custodia" dentro de este hilo;
+ * como un hilo solo se pausa entre peleas, en cada punto de quiescencia
+ * de {@link ImmortalManager#pause()} el invariante N×H se cumple.
+ */
+final class EscrowFight implements FightStrategy {
+    @Override
+    public boolean fight(Immortal self, Immortal other) {
+        return self.strikeEscrow(other);
+    }
+}
@@ -0,0 +1,315 @@
+package edu.eci.arsw.immortals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bitácora binaria de solo-anexar de cada traspaso de salud (atacante,
+ * víctima, daño, instante), para explicar después una violación del
+ * invariante con {@link JournalReplay}.
+ *
+ * Las peleas escriben en buffers en memoria rayados por hilo (con un hilo por
+ * inmortal, un buffer por hilo no cabe con 1M de inmortales); un buffer lleno
+ * se entrega a un único hilo escritor que junta todos los pendientes y los
+ * escribe con una sola escritura agrupada del {@link FileChannel}. Ninguna
+ * pelea espera E/S ni reserva memoria con el candado de una raya tomado: un
+ * buffer nuevo se reserva fuera y se cambia al volver. Si el escritor se
+ * atrasa más de {@code MAX_BUFFERS}, los registros se descartan y se cuentan
+ * en el cierre.
+ *
+ * Formato (big-endian):
+ *
+ * <pre>
+ * cabecera: magic "IMMJ" | versión | N | inicio (epoch ms) | salud inicial int[N]
+ * registro: atacante int | víctima int | daño int | ns desde el inicio long
+ * cierre:   -1 int | N int | registros long | descartados long | salud final int[N]
+ * </pre>
+ *
+ * Los índices son los del inmortal en el gestor (orden de creación). Los
+ * registros de rayas distintas pueden quedar intercalados fuera de orden;
+ * el instante permite reordenarlos.
+ */
+public final class FightJournal implements AutoCloseable {
+    static final int MAGIC = 0x494D4D4A; // "IMMJ"
+    static final int VERSION = 1;
+    static final int RECORD = 20;
+    static final int TRAILER = -1;
+
+    private static final int STRIPES = Integer.highestOneBit(
+            Math.max(1, Runtime.getRuntime().availableProcessors() * 4 - 1)) << 1;
+    private static final int BUFFER_RECORDS = 3276; // ~64 KiB
+    private static final int MAX_BUFFERS = 1024;
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        // null = bitácora cerrada
+        ByteBuffer buf;
+    }
+
+    private final FileChannel channel;
+    private final Path file;
+    private final int size;
+    private final long origin = System.nanoTime();
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final Queue<ByteBuffer> ready = new ConcurrentLinkedQueue<>();
+    private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffers = new AtomicInteger();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final long flushNanos;
+    private final boolean sync;
+    private final Thread writer;
+    private volatile boolean closing;
+    private volatile IOException failure;
+
+    private FightJournal(FileChannel channel, Path file, int size, long flushMillis, boolean sync) {
+        this.channel = channel;
+        this.file = file;
+        this.size = size;
+        this.flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMillis);
+        this.sync = sync;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+            stripes[i].buf = newBuffer();
+        }
+        buffers.set(STRIPES);
+        this.writer = new Thread(this::writeLoop, "FightJournal");
+        writer.setDaemon(true);
+    }
+
+    /**
+     * Crea (o trunca) la bitácora con la salud de partida de cada inmortal.
+     *
+     * {@code -Dfight.journal.flushMs} (por defecto 50) acota cuánto espera
+     * un registro en memoria; {@code -Dfight.journal.sync=true} hace además
+     * force() en cada lote.
+     */
+    public static FightJournal open(Path file, int[] initialHealth) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(4 * 3 + 8 + 4 * initialHealth.length);
+            header.putInt(MAGIC).putInt(VERSION).putInt(initialHealth.length).putLong(System.currentTimeMillis());
+            header.asIntBuffer().put(initialHealth);
+            header.position(header.capacity()).flip();
+            writeFully(ch, header);
+        } catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+        FightJournal j = new FightJournal(ch, file, initialHealth.length,
+                Long.getLong("fight.journal.flushMs", 50), Boolean.getBoolean("fight.journal.sync"));
+        j.writer.start();
+        return j;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Anexa un traspaso de damage de victim a attacker. Solo toca memoria.
+     */
+    public void record(int attacker, int victim, int damage) {
+        long t = System.nanoTime() - origin;
+        Stripe s = stripes[(int) Thread.currentThread().threadId() & (STRIPES - 1)];
+        recorded.increment();
+        ByteBuffer spare = null;
+        for (;;) {
+            boolean handOff = false, grow = false;
+            s.lock.lock();
+            try {
+                ByteBuffer b = s.buf;
+                if (b == null) {
+                    dropped.increment();
+                    return;
+                }
+                if (b.remaining() < RECORD) {
+                    ByteBuffer next = spare != null ? spare : free.poll();
+                    spare = null;
+                    if (next != null) {
+                        ready.offer(b);
+                        s.buf = b = next;
+                        handOff = true;
+                    } else if (reserve()) {
+                        // Se asigna sin el candado y se reintenta
+                        grow = true;
+                    } else {
+                        // Escritor atrasado: se reutiliza el mismo buffer
+                        dropped.add(b.position() / RECORD);
+                        b.clear();
+                    }
+                }
+                if (!grow)
+                    b.putInt(attacker).putInt(victim).putInt(damage).putLong(t);
+            } finally {
+                s.lock.unlock();
+            }
+            if (handOff)
+                LockSupport.unpark(writer);
+            if (!grow)
+                break;
+            spare = newBuffer();
+        }
+        // Otro hilo ya cambió el buffer de la raya: el reservado queda libre
+        if (spare != null)
+            free.offer(spare);
+    }
+
+    /**
+     * Llamadas a record(), incluidas las descartadas.
+     */
+    public long recorded() {
+        return recorded.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    // Cupo para un buffer más; la asignación se hace después, sin candados
+    private boolean reserve() {
+        for (int n; (n = buffers.get()) < MAX_BUFFERS;) {
+            if (buffers.compareAndSet(n, n + 1))
+                return true;
+        }
+        return false;
+    }
+
+    private static ByteBuffer newBuffer() {
+        return ByteBuffer.allocateDirect(RECORD * BUFFER_RECORDS);
+    }
+
+    // Un lote: lo que ya estaba lleno más lo parcial de cada raya
+    private void writeLoop() {
+        List<ByteBuffer> batch = new ArrayList<>();
+        while (!closing) {
+            LockSupport.parkNanos(this, flushNanos);
+            if (closing)
+                break;
+            ByteBuffer spare = null;
+            for (Stripe s : stripes) {
+                // Igual que record(): el repuesto se asigna antes de tomar el candado
+                if (spare == null && free.isEmpty() && reserve())
+                    spare = newBuffer();
+                s.lock.lock();
+                try {
+                    if (s.buf != null && s.buf.position() > 0) {
+                        ByteBuffer next = free.poll();
+                        if (next == null) {
+                            next = spare;
+                            spare = null;
+                        }
+                        if (next != null) {
+                            ready.offer(s.buf);
+                            s.buf = next;
+                        }
+                    }
+                } finally {
+                    s.lock.unlock();
+                }
+            }
+            if (spare != null)
+                free.offer(spare);
+            drainReady(batch);
+        }
+    }
+
+    private void drainReady(List<ByteBuffer> batch) {
+        ByteBuffer b;
+        while ((b = ready.poll()) != null) {
+            batch.add(b.flip());
+        }
+        if (batch.isEmpty())
+            return;
+        try {
+            if (failure == null) {
+                ByteBuffer[] bufs = batch.toArray(ByteBuffer[]::new);
+                long left = 0;
+                for (ByteBuffer x : bufs)
+                    left += x.remaining();
+                while (left > 0)
+                    left -= channel.write(bufs);
+                if (sync)
+                    channel.force(false);
+            } else {
+                for (ByteBuffer x : batch)
+                    dropped.add(x.remaining() / RECORD);
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+        for (ByteBuffer x : batch)
+            free.offer(x.clear());
+        batch.clear();
+    }
+
+    /**
+     * Cierra sin estado final; la repetición solo puede verificar la suma.
+     */
+    @Override
+    public void close() throws IOException {
+        close(null);
+    }
+
+    /**
+     * Escribe lo pendiente y el cierre con la salud final observada de cada
+     * inmortal (debe tomarse con los hilos detenidos). Los registros que
+     * lleguen después se descartan.
+     */
+    public void close(int[] finalHealth) throws IOException {
+        if (closing)
+            return;
+        closing = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Stripe s : stripes) {
+            s.lock.lock();
+            try {
+                if (s.buf.position() > 0)
+                    ready.offer(s.buf);
+                s.buf = null;
+            } finally {
+                s.lock.unlock();
+            }
+        }
+        List<ByteBuffer> batch = new ArrayList<>();
+        drainReady(batch);
+        try (channel) {
+            if (failure != null)
+                throw failure;
+            if (finalHealth != null) {
+                if (finalHealth.length != size)
+                    throw new IllegalArgumentException("Se esperaban " + size + " saludes finales");
+                long lost = dropped.sum();
+                ByteBuffer trailer = ByteBuffer.allocate(4 * 2 + 8 * 2 + 4 * size);
+                trailer.putInt(TRAILER).putInt(size).putLong(recorded.sum() - lost).putLong(lost);
+                trailer.asIntBuffer().put(finalHealth);
+                trailer.position(trailer.capacity()).flip();
+                writeFully(channel, trailer);
+            }
+            channel.force(true);
+        }
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer b) throws IOException {
+        while (b.hasRemaining())
+            ch.write(b);
+    }
+}
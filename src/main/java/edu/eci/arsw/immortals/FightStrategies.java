@@ -0,0 +1,51 @@
+package edu.eci.arsw.immortals;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registro de estrategias de pelea por nombre.
+ *
+ * Trae naive, ordered, trylock y escrow; se pueden registrar otras con
+ * {@link #register(String, Supplier)} antes de crear el manager.
+ */
+public final class FightStrategies {
+    private static final Map<String, Supplier<FightStrategy>> REGISTRY = new ConcurrentHashMap<>();
+
+    static {
+        REGISTRY.put("naive", NaiveFight::new);
+        REGISTRY.put("ordered", OrderedFight::new);
+        REGISTRY.put("trylock", TryLockFight::new);
+        REGISTRY.put("escrow", EscrowFight::new);
+    }
+
+    private FightStrategies() {
+    }
+
+    public static void register(String name, Supplier<FightStrategy> factory) {
+        REGISTRY.put(key(name), Objects.requireNonNull(factory));
+    }
+
+    /**
+     * @throws IllegalArgumentException si no hay estrategia con ese nombre
+     */
+    public static FightStrategy resolve(String name) {
+        Supplier<FightStrategy> factory = REGISTRY.get(key(name));
+        if (factory == null)
+            throw new IllegalArgumentException("Modo de lucha desconocido: " + name + " (use " + names() + ")");
+        return factory.get();
+    }
+
+    public static Set<String> names() {
+        return new TreeSet<>(REGISTRY.keySet());
+    }
+
+    private static String key(String name) {
+        return Objects.requireNonNull(name).toLowerCase(Locale.ROOT);
+    }
+}
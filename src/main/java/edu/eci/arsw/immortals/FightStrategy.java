@@ -0,0 +1,21 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Cómo pelea un inmortal contra otro.
+ *
+ * El manager la resuelve una vez ({@link FightStrategies#resolve(String)}) y
+ * la inyecta en cada {@link Immortal}; en el hot path no hay lecturas de
+ * propiedades ni switch sobre strings, y como en una corrida hay una sola
+ * implementación el JIT puede inlinear la llamada.
+ *
+ * Una estrategia basada en locks debe obtener la exclusión sobre ambos
+ * inmortales (p. ej. {@link Immortal#lock()}) y luego llamar a
+ * {@link Immortal#strike(Immortal)}.
+ */
+@FunctionalInterface
+public interface FightStrategy {
+    /**
+     * @return true si se movió salud; false si el intento no hizo nada
+     */
+    boolean fight(Immortal self, Immortal other);
+}
@@ -0,0 +1,15 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Salud de toda la población al cierre de una época, tomada sin pausar.
+ *
+ * @param epoch        época cerrada que describe el snapshot
+ * @param totalHealth  suma de salud de vivos y muertos
+ * @param expectedHealth N × H
+ * @param alive        inmortales con salud > 0 en ese instante
+ */
+public record HealthSnapshot(long epoch, long totalHealth, long expectedHealth, int alive) {
+    public boolean invariantHolds() {
+        return totalHealth == expectedHealth;
+    }
+}
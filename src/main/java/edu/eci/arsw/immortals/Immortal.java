@@ -1,62 +1,185 @@
 package edu.eci.arsw.immortals;
 
-import java.util.List;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.locks.ReentrantLock;
 
+import edu.eci.arsw.concurrency.EpochGate;
+import edu.eci.arsw.concurrency.Log;
 import edu.eci.arsw.concurrency.PauseController;
 
 public final class Immortal implements Runnable {
+    // CAS sobre el estado de salud (escrow y snapshots)
+    private static final VarHandle STATE;
+    private static final VarHandle SNAP;
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            STATE = l.findVarHandle(Immortal.class, "state", long.class);
+            SNAP = l.findVarHandle(Immortal.class, "snap", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    private static final long LOW = 0xFFFF_FFFFL;
+    // Bit alto de state: muerto para siempre, ningún débito escrow lo toca
+    private static final long DEAD = 1L << 63;
+    private static final long EPOCH = 0x7FFF_FFFFL;
+
     private final String name;
-    private int health;
+    // Salud versionada: [muerto : 1 | época de la última escritura : 31 | salud : 32].
+    // snap = [época E : 32 | salud al cierre de la época E-1 : 32], la escribe
+    // el primer escritor de E. Así un snapshot de E-1 se lee sin locks.
+    private volatile long state;
+    private volatile long snap;
     private final int damage;
-    private final List<Immortal> population;
+    private final AliveRegistry population;
     private final ScoreBoard scoreBoard;
     private final PauseController controller;
     private final ConcurrentLinkedQueue<Immortal> deadQueue;
+    private final EpochGate gate;
     private volatile boolean running = true;
-    private final ReentrantLock lock = new ReentrantLock(true);
+    private volatile boolean killed = false;
+    private final ReentrantLock lock;
+    // Resuelta una vez por manager: el call site en run() ve una sola clase
+    private final FightStrategy strategy;
     private final int id;
     private static int nextId = 0;
+    // Índice de sus estadísticas en el ScoreBoard
+    private final int statsIndex;
+
+    // Posición en el AliveRegistry (-1 = fuera); la administra el registro
+    int slot = -1;
 
     // Para interrupción controlada
     private Thread myThread;
 
-    public Immortal(String name, int health, int damage, List<Immortal> population,
+    public Immortal(String name, int health, int damage, AliveRegistry population,
             ScoreBoard scoreBoard, PauseController controller,
             ConcurrentLinkedQueue<Immortal> deadQueue) {
+        this(name, health, damage, population, scoreBoard, controller, deadQueue, new EpochGate(), true,
+                FightStrategies.resolve("ordered"));
+    }
+
+    /**
+     * @param fairLock lock justo (FIFO) o no; el justo evita inanición pero
+     *                 cuesta un handoff por cada adquisición disputada
+     * @param strategy cómo pelea este inmortal (ver {@link FightStrategies})
+     */
+    public Immortal(String name, int health, int damage, AliveRegistry population,
+            ScoreBoard scoreBoard, PauseController controller,
+            ConcurrentLinkedQueue<Immortal> deadQueue, EpochGate gate, boolean fairLock,
+            FightStrategy strategy) {
         this.name = Objects.requireNonNull(name);
-        this.health = health;
+        this.state = health & LOW;
         this.damage = damage;
         this.population = Objects.requireNonNull(population);
         this.scoreBoard = Objects.requireNonNull(scoreBoard);
         this.controller = Objects.requireNonNull(controller);
         this.deadQueue = Objects.requireNonNull(deadQueue);
+        this.gate = Objects.requireNonNull(gate);
+        this.lock = new ReentrantLock(fairLock);
+        this.strategy = Objects.requireNonNull(strategy);
 
         synchronized (Immortal.class) {
             this.id = nextId++;
         }
+        this.statsIndex = scoreBoard.register(this);
     }
 
     public String name() {
         return name;
     }
 
+    /**
+     * Identificador único y estable; define el orden total de locks.
+     */
+    public int id() {
+        return id;
+    }
+
+    public int damage() {
+        return damage;
+    }
+
+    int statsIndex() {
+        return statsIndex;
+    }
+
+    /**
+     * Lock de la entidad, para estrategias que coordinan con locks.
+     */
+    public ReentrantLock lock() {
+        return lock;
+    }
+
+    // Lecturas sin lock: una sola lectura volátil, no compiten con las peleas
     public int getHealth() {
-        // Para thread-safety, sincronizar el acceso
-        synchronized (this) {
-            return health;
-        }
+        return (int) state;
     }
 
     public boolean isAlive() {
-        lock.lock();
-        try {
-            return health > 0 && running;
-        } finally {
-            lock.unlock();
+        return getHealth() > 0 && running;
+    }
+
+    /**
+     * Salud al cierre de la época {@code closed}. Solo es válida después de
+     * {@link EpochGate#advance()} que cerró esa época.
+     */
+    int snapshotHealth(long closed) {
+        for (;;) {
+            long s = state;
+            long ep = s >>> 32 & EPOCH;
+            if (ep <= closed)
+                return (int) s;
+            // Escrita ya en la época nueva: el valor viejo está en snap
+            long sn = snap;
+            if ((sn >>> 32) == ep)
+                return (int) sn;
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Suma delta a la salud dentro de la época e (CAS).
+     *
+     * @param requireAlive no escribir si la salud ya es <= 0 o ya fue marcado
+     *                     muerto (aunque su último golpe lo haya devuelto a
+     *                     salud positiva)
+     * @return false si requireAlive y estaba muerto
+     */
+    boolean addHealth(int delta, long e, boolean requireAlive) {
+        for (;;) {
+            long s = state;
+            int h = (int) s;
+            if (requireAlive && (h <= 0 || (s & DEAD) != 0))
+                return false;
+            long ep = s >>> 32 & EPOCH;
+            long stamp = Math.max(ep, e);
+            if (STATE.compareAndSet(this, s, (s & DEAD) | (stamp << 32) | ((h + delta) & LOW))) {
+                if (ep < e) {
+                    // Primer escritor de la época e: preservar el valor anterior
+                    snap = (e << 32) | (h & LOW);
+                } else if (e < ep) {
+                    // Escritura tardía de la época anterior: también cuenta en snap
+                    foldIntoSnap(ep, delta);
+                }
+                return true;
+            }
+        }
+    }
+
+    private void foldIntoSnap(long ep, int delta) {
+        for (;;) {
+            long sn = snap;
+            if ((sn >>> 32) != ep) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (SNAP.compareAndSet(this, sn, (ep << 32) | (((int) sn + delta) & LOW)))
+                return;
         }
     }
 
@@ -73,12 +196,12 @@ public final class Immortal implements Runnable {
         myThread = Thread.currentThread(); // Guardar referencia
         myThread.setName("Immortal-" + name);
 
-        System.out.println(name + " iniciado (ID: " + id + ")");
+        Log.debug("%s iniciado (ID: %d)", name, id);
 
         try {
-            while (running && health > 0) {
+            while (running && getHealth() > 0) {
                 try {
-                    // CHEQUEO DE PAUSA - Versión mejorada
+                    // Safepoint: se estaciona aquí si hay pausa en curso
                     controller.awaitIfPaused();
 
                     if (!running)
@@ -87,149 +210,128 @@ public final class Immortal implements Runnable {
                     // Atacar
                     Immortal opponent = pickOpponent();
                     if (opponent != null) {
-                        String mode = System.getProperty("fight", "ordered");
-                        switch (mode.toLowerCase()) {
-                            case "naive":
-                                fightNaive(opponent);
-                                break;
-                            case "trylock":
-                                fightTryLock(opponent);
-                                break;
-                            default:
-                                fightOrdered(opponent);
-                                break;
-                        }
+                        fight(opponent);
                     }
 
-                    // Sleep con chequeo de interrupción
-                    try {
-                        Thread.sleep(10); // Sleep fijo para mejor control
-                    } catch (InterruptedException e) {
-                        // Si nos interrumpen durante sleep, verificar si es pausa
-                        if (controller.paused()) {
-                            // Estamos siendo pausados, entrar en awaitIfPaused
-                            controller.awaitIfPaused();
-                        } else if (!running) {
-                            // Estamos siendo detenidos
-                            break;
-                        }
-                        // Continuar si fue otra interrupción
-                        Thread.currentThread().interrupt();
-                    }
+                    Thread.sleep(10); // Sleep fijo para mejor control
 
                 } catch (InterruptedException e) {
-                    // Manejar interrupción en awaitIfPaused
-                    Thread.currentThread().interrupt();
+                    // La pausa ya no interrumpe: solo stop() lo hace
                     if (!running)
                         break;
                 }
             }
         } finally {
+            // El muerto se encola a sí mismo desde su propio hilo: así su salud
+            // ya es final (en escrow un atacante puede recibir su crédito
+            // después de haber sido "matado") cuando cleanDead() la suma.
+            if (killed) {
+                deadQueue.offer(this);
+            }
             controller.removeThread();
-            System.out.println(name + " terminó");
+            Log.debug("%s terminó", name);
             myThread = null;
         }
     }
 
+    // Muestreo O(1) entre los vivos: ya no hay intentos fallidos sobre muertos
     private Immortal pickOpponent() {
-        if (population.isEmpty())
-            return null;
-
-        int attempts = 0;
-        while (attempts < 5 && running) {
-            int size = population.size();
-            if (size <= 1)
-                return null;
-
-            int index = ThreadLocalRandom.current().nextInt(size);
-            Immortal other = population.get(index);
+        return population.sampleOther(this);
+    }
 
-            if (other != this && other.isAlive()) {
-                return other;
-            }
-            attempts++;
+    // Se retira del registro en el mismo instante de la muerte, así nadie más
+    // lo elige como oponente. Su propio hilo lo encola al terminar run().
+    // El bit DEAD entra por CAS antes: un atacante que lo eligió antes de la
+    // muerte ya no puede debitarlo, así la salud que cuente cleanDead() es
+    // final aunque su último golpe escrow lo haya dejado en positivo.
+    private void markDead(Immortal dead) {
+        dead.freeze();
+        if (population.remove(dead)) {
+            dead.killed = true;
+            scoreBoard.recordKill();
         }
-        return null;
+        dead.stop();
     }
 
-    private void fightNaive(Immortal other) {
-        synchronized (this) {
-            synchronized (other) {
-                if (this.health <= 0 || other.health <= 0)
-                    return;
-
-                other.health -= damage;
-                this.health += damage;
-
-                if (other.health <= 0) {
-                    deadQueue.offer(other);
-                    other.stop();
-                }
-                if (this.health <= 0) {
-                    deadQueue.offer(this);
-                    this.stop();
-                }
-
-                scoreBoard.recordFight();
-            }
+    private void freeze() {
+        for (;;) {
+            long s = state;
+            if ((s & DEAD) != 0 || STATE.compareAndSet(this, s, s | DEAD))
+                return;
         }
     }
 
-    private void fightOrdered(Immortal other) {
-        Immortal first = this.id < other.id ? this : other;
-        Immortal second = this.id < other.id ? other : this;
+    /**
+     * Una pelea contra other con la estrategia configurada.
+     *
+     * @return true si se movió salud; false si algún lock no se obtuvo o
+     *         alguno ya estaba muerto
+     */
+    boolean fight(Immortal other) {
+        return strategy.fight(this, other);
+    }
+
+    /**
+     * Golpe de this sobre other: mueve damage de other a this dentro de la
+     * época vigente del gate, registra la pelea y marca al muerto.
+     *
+     * El llamador debe excluir cualquier otra escritura sobre ambos (p. ej.
+     * tener sus dos locks); se entra al gate después de los locks, así las
+     * épocas de escritura de cada inmortal son monótonas.
+     *
+     * @return false si alguno ya estaba muerto
+     */
+    public boolean strike(Immortal other) {
+        if (this.getHealth() <= 0 || other.getHealth() <= 0)
+            return false;
+
+        long e = gate.enter();
+        try {
+            other.addHealth(-damage, e, false);
+            this.addHealth(damage, e, false);
+        } finally {
+            gate.exit(e);
+        }
 
-        synchronized (first) {
-            synchronized (second) {
-                if (this.health <= 0 || other.health <= 0)
-                    return;
+        if (other.getHealth() <= 0) {
+            markDead(other);
+        }
+        if (this.getHealth() <= 0) {
+            markDead(this);
+        }
 
-                other.health -= damage;
-                this.health += damage;
+        scoreBoard.recordFight(this, other, damage);
+        return true;
+    }
 
-                if (other.health <= 0) {
-                    deadQueue.offer(other);
-                    other.stop();
-                }
-                if (this.health <= 0) {
-                    deadQueue.offer(this);
-                    this.stop();
-                }
+    /**
+     * Golpe sin locks (modo escrow): CAS de -damage sobre other solo si sigue
+     * vivo, y luego +damage sobre this, todo en una misma época del gate.
+     */
+    boolean strikeEscrow(Immortal other) {
+        boolean hit;
+        long e = gate.enter();
+        try {
+            if (this.getHealth() <= 0)
+                return false;
+            hit = other.addHealth(-damage, e, true);
+            if (hit)
+                this.addHealth(damage, e, false);
+        } finally {
+            gate.exit(e);
+        }
+        if (!hit)
+            return false;
 
-                scoreBoard.recordFight();
-            }
+        if (other.getHealth() <= 0) {
+            markDead(other);
         }
+        scoreBoard.recordFight(this, other, damage);
+        return true;
     }
 
-    private void fightTryLock(Immortal other) {
-        if (this.lock.tryLock()) {
-            try {
-                if (other.lock.tryLock()) {
-                    try {
-                        if (this.health <= 0 || other.health <= 0)
-                            return;
-
-                        other.health -= damage;
-                        this.health += damage;
-
-                        if (other.health <= 0) {
-                            deadQueue.offer(other);
-                            other.stop();
-                        }
-                        if (this.health <= 0) {
-                            deadQueue.offer(this);
-                            this.stop();
-                        }
-
-                        scoreBoard.recordFight();
-                    } finally {
-                        other.lock.unlock();
-                    }
-                }
-            } finally {
-                this.lock.unlock();
-            }
-        }
+    void recordTryLockMiss() {
+        scoreBoard.recordTryLockMiss();
     }
 
-}
\ No newline at end of file
+}
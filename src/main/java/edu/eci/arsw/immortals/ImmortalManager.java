@@ -1,34 +1,56 @@
 package edu.eci.arsw.immortals;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import edu.eci.arsw.concurrency.EpochGate;
+import edu.eci.arsw.concurrency.LockMetrics;
+import edu.eci.arsw.concurrency.Log;
 import edu.eci.arsw.concurrency.PauseController;
+import edu.eci.arsw.concurrency.RateMeter;
 
 /**
  * Gestor completo de inmortales - Implementa todos los puntos del laboratorio
  */
-public final class ImmortalManager implements AutoCloseable {
+public final class ImmortalManager implements ImmortalManagerMXBean, AutoCloseable {
     // Punto 10: Colecciones concurrentes para manejo seguro de threads
-    private final CopyOnWriteArrayList<Immortal> population = new CopyOnWriteArrayList<>();
+    // Solo vivos: eliminación y muestreo aleatorio en O(1)
+    private final AliveRegistry population;
     private final ConcurrentLinkedQueue<Immortal> deadQueue = new ConcurrentLinkedQueue<>();
     private final List<Future<?>> futures = new ArrayList<>();
+    // Todos los inmortales (vivos y muertos), para los snapshots
+    private final Immortal[] all;
 
     // Controladores
     private final PauseController controller = new PauseController();
     private final ScoreBoard scoreBoard = new ScoreBoard();
+    private final EpochGate gate = new EpochGate();
+    private final Object snapshotLock = new Object();
 
     // Executor y estado
     private ExecutorService exec;
     private final AtomicBoolean running = new AtomicBoolean(false);
+    // stop() vació la población: ya no hay estado que guardar
+    private volatile boolean terminated = false;
     private long startTime = 0;
 
     // Configuración inicial
@@ -36,52 +58,116 @@ public final class ImmortalManager implements AutoCloseable {
     private final int initialCount;
     private final int damage;
     private final String fightMode;
+    private final FightStrategy fightStrategy;
+    private final String executorType;
+    private final boolean fairLocks;
 
     // Estadísticas
     private int deadRemoved = 0;
 
+    // JMX: tasa de peleas y última verificación del invariante
+    private static final AtomicInteger MBEAN_SEQ = new AtomicInteger();
+    private final RateMeter fightRate = new RateMeter(1000);
+    private volatile boolean lastInvariantOk = false;
+    private volatile long lastInvariantActual = 0;
+    private volatile long lastInvariantCheckMillis = 0;
+    private ObjectName mbeanName;
+
+    // Bitácora de peleas opcional (-Dfight.journal=archivo o journalTo)
+    private volatile Path journalFile = journalProperty();
+    private FightJournal journal;
+
+    // API asíncrona: los comandos se serializan en un único hilo de control
+    private static final AtomicInteger CONTROL_SEQ = new AtomicInteger();
+    private final ThreadPoolExecutor control = newControlExecutor();
+
     /**
      * Constructor principal
+     *
+     * @param executorType "platform" (un hilo de plataforma por inmortal) o
+     *                     "virtual" (un virtual thread por inmortal, sobre pocos carriers)
+     * @param fairLocks    locks de los inmortales justos (FIFO) o no
      */
-    public ImmortalManager(int n, String fightMode, int initialHealth, int damage) {
+    public ImmortalManager(int n, String fightMode, int initialHealth, int damage, String executorType,
+            boolean fairLocks) {
+        this(n, fightMode, initialHealth, damage, executorType, fairLocks, null);
+    }
+
+    // restored != null: población, muertos y contadores vienen de un checkpoint
+    private ImmortalManager(int n, String fightMode, int initialHealth, int damage, String executorType,
+            boolean fairLocks, Checkpoint.State restored) {
         if (n <= 0)
             throw new IllegalArgumentException("N debe ser > 0");
         if (initialHealth <= 0)
             throw new IllegalArgumentException("Salud debe ser > 0");
         if (damage <= 0)
             throw new IllegalArgumentException("Daño debe ser > 0");
+        if (!"platform".equals(executorType) && !"virtual".equals(executorType))
+            throw new IllegalArgumentException("Executor debe ser platform|virtual");
 
         this.initialHealth = initialHealth;
         this.initialCount = n;
         this.damage = damage;
         this.fightMode = fightMode;
-
-        // Configurar modo de lucha
-        System.setProperty("fight", fightMode);
-
-        System.out.println("\n=== CREANDO GESTOR DE INMORTALES ===");
-        System.out.printf("Cantidad: %d | Salud: %d | Daño: %d | Modo: %s%n",
-                n, initialHealth, damage, fightMode);
-        System.out.printf("Invariante esperado: %,d%n", (long) n * initialHealth);
-
-        // Configurar controlador de pausa
-        controller.setTotalThreads(n);
+        // Se resuelve una sola vez: los inmortales no consultan propiedades al pelear
+        this.fightStrategy = FightStrategies.resolve(fightMode);
+        this.executorType = executorType;
+        this.fairLocks = fairLocks;
+        this.population = new AliveRegistry(n);
+        this.all = new Immortal[n];
+
+        Log.info("\n=== CREANDO GESTOR DE INMORTALES ===");
+        Log.info("Cantidad: %d | Salud: %d | Daño: %d | Modo: %s | Executor: %s",
+                n, initialHealth, damage, fightMode, executorType);
+        Log.info("Invariante esperado: %,d", (long) n * initialHealth);
 
         // Crear población inicial
         for (int i = 0; i < n; i++) {
-            String name = String.format("Immortal-%04d", i);
+            String name = restored != null ? restored.names()[i] : String.format("Immortal-%04d", i);
             Immortal immortal = new Immortal(
                     name,
-                    initialHealth,
+                    restored != null ? restored.health()[i] : initialHealth,
                     damage,
                     population,
                     scoreBoard,
                     controller,
-                    deadQueue);
-            population.add(immortal);
+                    deadQueue,
+                    gate,
+                    fairLocks,
+                    fightStrategy);
+            all[i] = immortal;
+            if (restored == null || restored.alive()[i]) {
+                population.add(immortal);
+            }
+        }
+
+        if (restored != null) {
+            deadHealthSum = restored.deadHealthSum();
+            deadRemoved = restored.deadRemoved();
+            scoreBoard.restore(restored.totalFights(), restored.kills(), restored.tryLockMisses());
+            for (int i = 0; i < n; i++) {
+                scoreBoard.restoreDamage(all[i], restored.dealt()[i], restored.received()[i]);
+            }
         }
 
-        System.out.printf("✅ Creados %d inmortales%n", population.size());
+        // Configurar controlador de pausa: un hilo por inmortal vivo
+        controller.setTotalThreads(population.size());
+
+        Log.info("✅ Creados %d inmortales", population.size());
+    }
+
+    /**
+     * Constructor con locks justos
+     */
+    public ImmortalManager(int n, String fightMode, int initialHealth, int damage, String executorType) {
+        this(n, fightMode, initialHealth, damage, executorType, true);
+    }
+
+    /**
+     * Constructor con hilos de plataforma
+     */
+    public ImmortalManager(int n, String fightMode, int initialHealth, int damage) {
+        this(n, fightMode, initialHealth, damage, "platform");
     }
 
     /**
@@ -91,22 +177,133 @@ public final class ImmortalManager implements AutoCloseable {
         this(n, fightMode, 100, 10);
     }
 
+    /**
+     * Crea el gestor fuera del hilo llamador (crear 1M de inmortales toma
+     * segundos); pensado para la UI.
+     */
+    public static CompletableFuture<ImmortalManager> createAsync(int n, String fightMode, int initialHealth,
+            int damage, String executorType) {
+        CompletableFuture<ImmortalManager> f = new CompletableFuture<>();
+        Thread t = new Thread(() -> {
+            try {
+                f.complete(new ImmortalManager(n, fightMode, initialHealth, damage, executorType));
+            } catch (Throwable ex) {
+                f.completeExceptionally(ex);
+            }
+        }, "Manager-Create");
+        t.setDaemon(true);
+        t.start();
+        return f;
+    }
+
+    // --- API asíncrona: mismos comandos, sin bloquear al llamador ---
+
+    public CompletableFuture<Void> startAsync() {
+        return submit(() -> {
+            start();
+            return null;
+        });
+    }
+
+    /**
+     * Se completa cuando todos los hilos llegaron a la pausa (o se agotó el
+     * tiempo de {@link #pause()}).
+     */
+    public CompletableFuture<Void> pauseAsync() {
+        return submit(() -> {
+            pause();
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> resumeAsync() {
+        return submit(() -> {
+            resume();
+            return null;
+        });
+    }
+
+    /**
+     * Detiene la simulación y luego apaga el hilo de control: los comandos
+     * posteriores fallan con {@link RejectedExecutionException}.
+     */
+    public CompletableFuture<Void> stopAsync() {
+        return submit(() -> {
+            try {
+                stop();
+            } finally {
+                control.shutdown();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Snapshot consistente sin pausar ({@link #healthSnapshot()}).
+     */
+    public CompletableFuture<HealthSnapshot> snapshotAsync() {
+        return submit(this::healthSnapshot);
+    }
+
+    /**
+     * Pausa (si hace falta) y devuelve los vivos ({@link #populationSnapshot()}).
+     */
+    public CompletableFuture<List<Immortal>> populationSnapshotAsync() {
+        return submit(this::populationSnapshot);
+    }
+
+    /**
+     * Pausa, toma los vivos y suma la salud en un solo comando del hilo de
+     * control, así un resumeAsync() posterior no corre entre ambos.
+     */
+    public CompletableFuture<PausedCheck> pauseAndCheckAsync() {
+        return submit(() -> {
+            boolean quiescent = pause();
+            List<Immortal> alive = populationSnapshot();
+            return new PausedCheck(alive, totalHealth(), getExpectedTotalHealth(), quiescent,
+                    controller.getPausedThreadsCount(), controller.getTotalThreads());
+        });
+    }
+
+    // Un solo hilo (orden FIFO de comandos) que se retira si queda ocioso
+    private static ThreadPoolExecutor newControlExecutor() {
+        ThreadPoolExecutor ex = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "Manager-Control-" + CONTROL_SEQ.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        ex.allowCoreThreadTimeOut(true);
+        return ex;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> command) {
+        try {
+            return CompletableFuture.supplyAsync(command, control);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Punto 11: Iniciar simulación
      */
     public synchronized void start() {
         if (running.get()) {
-            System.out.println("[MANAGER] Ya está ejecutándose");
+            Log.info("[MANAGER] Ya está ejecutándose");
             return;
         }
 
         running.set(true);
         startTime = System.currentTimeMillis();
 
-        System.out.println("\n=== INICIANDO SIMULACIÓN ===");
+        Log.info("\n=== INICIANDO SIMULACIÓN ===");
 
-        // Usar thread pool fijo para mejor control
-        exec = Executors.newFixedThreadPool(initialCount);
+        // Un hilo por inmortal + uno para la limpieza. Con virtual threads los
+        // inmortales se multiplexan sobre el pool de carriers del JDK
+        // (jdk.virtualThreadScheduler.parallelism, por defecto = núcleos).
+        exec = "virtual".equals(executorType)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(initialCount + 1);
 
         // Punto 10: Hilo de limpieza de muertos
         exec.submit(() -> {
@@ -120,63 +317,59 @@ public final class ImmortalManager implements AutoCloseable {
                     break;
                 }
             }
-            System.out.println("[CLEANUP] Hilo de limpieza terminado");
+            Log.info("[CLEANUP] Hilo de limpieza terminado");
         });
 
+        openJournal();
+
         // Iniciar todos los inmortales
-        System.out.printf("[MANAGER] Iniciando %d threads...%n", population.size());
-        for (Immortal im : population) {
+        Log.info("[MANAGER] Iniciando %d threads...", population.size());
+        for (Immortal im : population.snapshot()) {
             Future<?> future = exec.submit(im);
             futures.add(future);
         }
 
-        System.out.println("[MANAGER] ✅ Simulación iniciada");
-        System.out.printf("Invariante esperado: %,d%n", getExpectedTotalHealth());
+        registerMBean();
+
+        Log.info("[MANAGER] ✅ Simulación iniciada");
+        Log.info("Invariante esperado: %,d", getExpectedTotalHealth());
     }
 
     /**
      * Punto 4-5: Pausar simulación
+     *
+     * @return true si todos los workers quedaron estacionados (o no hay
+     *         simulación corriendo); false si se agotó la espera o hubo
+     *         interrupción, y entonces alguno puede seguir peleando
      */
-    public void pause() {
+    public boolean pause() {
         if (!running.get()) {
-            System.out.println("[MANAGER] No se puede pausar, no está ejecutándose");
-            return;
+            Log.info("[MANAGER] No se puede pausar, no está ejecutándose");
+            return true;
         }
 
-        System.out.println("\n[MANAGER] === SOLICITANDO PAUSA ===");
+        Log.info("\n[MANAGER] === SOLICITANDO PAUSA ===");
         controller.pause();
 
+        boolean quiescent = false;
         try {
-            // Esperar a que todos los threads se pausen
-            Thread.sleep(100); // Dar tiempo inicial
-
-            int timeout = 5000; // 5 segundos máximo
-            long startWait = System.currentTimeMillis();
-
-            while (controller.getPausedThreadsCount() < controller.getTotalThreads()) {
-                long elapsed = System.currentTimeMillis() - startWait;
-                if (elapsed > timeout) {
-                    System.out.printf("[MANAGER] ⏰ TIMEOUT: Solo %d/%d threads pausados%n",
-                            controller.getPausedThreadsCount(), controller.getTotalThreads());
-                    break;
-                }
-
-                System.out.printf("[MANAGER] Esperando... %d/%d threads pausados%n",
+            // Safepoint: el último worker en llegar nos despierta
+            quiescent = controller.waitForAllPaused(5000);
+            if (quiescent) {
+                Log.info("[MANAGER] ✅ Todos pausados (%d/%d) en %,d µs",
+                        controller.getPausedThreadsCount(), controller.getTotalThreads(),
+                        controller.lastPauseLatencyNanos() / 1000);
+            } else {
+                Log.warn("[MANAGER] Pausa sin quiescencia: %d/%d pausados tras 5 s",
                         controller.getPausedThreadsCount(), controller.getTotalThreads());
-                Thread.sleep(100);
             }
-
-            if (controller.getPausedThreadsCount() >= controller.getTotalThreads()) {
-                System.out.printf("[MANAGER] ✅ Todos pausados (%d/%d)%n",
-                        controller.getPausedThreadsCount(), controller.getTotalThreads());
-            }
-
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
 
         // Punto 10: Limpiar muertos mientras estamos pausados
         cleanDead();
+        return quiescent;
     }
 
     /**
@@ -184,13 +377,13 @@ public final class ImmortalManager implements AutoCloseable {
      */
     public void resume() {
         if (!running.get()) {
-            System.out.println("[MANAGER] No se puede reanudar, no está ejecutándose");
+            Log.info("[MANAGER] No se puede reanudar, no está ejecutándose");
             return;
         }
 
-        System.out.println("\n[MANAGER] === REANUDANDO ===");
+        Log.info("\n[MANAGER] === REANUDANDO ===");
         controller.resume();
-        System.out.println("[MANAGER] ✅ Simulación reanudada");
+        Log.info("[MANAGER] ✅ Simulación reanudada");
     }
 
     /**
@@ -198,15 +391,16 @@ public final class ImmortalManager implements AutoCloseable {
      */
     public void stop() {
         if (!running.getAndSet(false)) {
-            System.out.println("[MANAGER] Ya está detenido");
+            Log.info("[MANAGER] Ya está detenido");
             return;
         }
 
-        System.out.println("\n[MANAGER] === DETENIENDO SIMULACIÓN ===");
+        Log.info("\n[MANAGER] === DETENIENDO SIMULACIÓN ===");
+        terminated = true;
 
         // 1. Detener todos los inmortales
-        System.out.println("[STOP] Deteniendo inmortales...");
-        for (Immortal im : population) {
+        Log.info("[STOP] Deteniendo inmortales...");
+        for (Immortal im : population.snapshot()) {
             im.stop();
         }
 
@@ -215,12 +409,12 @@ public final class ImmortalManager implements AutoCloseable {
 
         // 3. Apagar executor
         if (exec != null) {
-            System.out.println("[STOP] Apagando executor...");
+            Log.info("[STOP] Apagando executor...");
             exec.shutdownNow();
 
             try {
                 if (!exec.awaitTermination(3, TimeUnit.SECONDS)) {
-                    System.err.println("[STOP] Timeout esperando terminación");
+                    Log.warn("[STOP] Timeout esperando terminación");
                 }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
@@ -231,41 +425,56 @@ public final class ImmortalManager implements AutoCloseable {
         }
 
         // 4. Limpiar recursos
+        closeJournal();
+        unregisterMBean();
         futures.clear();
         deadQueue.clear();
         population.clear();
 
         // 5. Mostrar estadísticas finales
         long duration = System.currentTimeMillis() - startTime;
-        System.out.println("\n=== ESTADÍSTICAS FINALES ===");
-        System.out.printf("Duración total: %,d ms%n", duration);
-        System.out.printf("Peleas realizadas: %,d%n", scoreBoard.totalFights());
-        System.out.printf("Inmortales eliminados: %,d%n", deadRemoved);
-        System.out.printf("Modo de lucha usado: %s%n", fightMode);
-        System.out.println("=============================\n");
-
-        System.out.println("[MANAGER] ✅ Simulación detenida completamente");
+        Log.info("\n=== ESTADÍSTICAS FINALES ===");
+        Log.info("Duración total: %,d ms", duration);
+        Log.info("Peleas realizadas: %,d", scoreBoard.totalFights());
+        Log.info("Inmortales eliminados: %,d", deadRemoved);
+        Log.info("Muertes registradas: %,d", scoreBoard.kills());
+        Log.info("Modo de lucha usado: %s", fightMode);
+        Log.info("Executor usado: %s", executorType);
+        String locks = LockMetrics.report();
+        if (!locks.isEmpty())
+            Log.info(locks.stripTrailing());
+        Log.info("=============================\n");
+
+        Log.info("[MANAGER] ✅ Simulación detenida completamente");
+        Log.flush();
     }
 
     private long deadHealthSum = 0;
 
     /**
      * Punto 2: Calcular salud total actual
+     *
+     * Los muertos salen del registro en markDead(), en el hilo del peleador y
+     * sin el monitor del gestor; su salud entra a deadHealthSum más tarde, en
+     * cleanDead(). El monitor solo ordena esta suma con cleanDead(): con la
+     * simulación corriendo un muerto puede estar fuera del registro y aún no
+     * contado, y las peleas siguen moviendo salud. El total es exacto tras
+     * una pausa con quiescencia, porque pause() corre cleanDead() con todos
+     * estacionados. Sin pausar, usar
+     * {@link #healthSnapshot()}.
      */
-    public long totalHealth() {
+    public synchronized long totalHealth() {
         long sum = 0;
-        for (Immortal im : population) {
+        for (Immortal im : population.snapshot()) {
             sum += im.getHealth();
         }
-        synchronized (this) {
-            sum += deadHealthSum;
-        }
-        return sum;
+        return sum + deadHealthSum;
     }
 
     /**
      * Punto 2: Salud total esperada (invariante)
      */
+    @Override
     public long getExpectedTotalHealth() {
         return (long) initialCount * initialHealth;
     }
@@ -277,24 +486,170 @@ public final class ImmortalManager implements AutoCloseable {
         long expected = getExpectedTotalHealth();
         long actual = totalHealth();
         boolean ok = (actual == expected);
+        recordInvariant(ok, actual);
 
-        System.out.printf("[INVARIANT] Esperado: %,d | Actual: %,d | OK: %s%n",
+        Log.info("[INVARIANT] Esperado: %,d | Actual: %,d | OK: %s",
                 expected, actual, ok ? "✅" : "❌");
 
         return ok;
     }
 
     /**
-     * Contar inmortales vivos
+     * Snapshot consistente de la salud total SIN pausar la simulación.
+     *
+     * Cierra la época vigente del gate (espera solo las peleas que ya estaban
+     * escribiendo) y lee la salud de cada inmortal al cierre de esa época; las
+     * peleas nuevas siguen corriendo mientras tanto. Sirve para verificar el
+     * invariante periódicamente.
      */
-    public int aliveCount() {
-        int count = 0;
-        for (Immortal im : population) {
-            if (im.isAlive()) {
-                count++;
+    public HealthSnapshot healthSnapshot() {
+        synchronized (snapshotLock) {
+            long closed = gate.advance();
+            long sum = 0;
+            int alive = 0;
+            for (Immortal im : all) {
+                int h = im.snapshotHealth(closed);
+                sum += h;
+                if (h > 0)
+                    alive++;
+            }
+            return new HealthSnapshot(closed, sum, getExpectedTotalHealth(), alive);
+        }
+    }
+
+    /**
+     * Punto 3 sin pausa: verificar el invariante sobre un snapshot
+     */
+    @Override
+    public boolean checkInvariantLive() {
+        HealthSnapshot snap = healthSnapshot();
+        recordInvariant(snap.invariantHolds(), snap.totalHealth());
+        Log.info("[INVARIANT] Época %d | Esperado: %,d | Actual: %,d | OK: %s",
+                snap.epoch(), snap.expectedHealth(), snap.totalHealth(), snap.invariantHolds() ? "✅" : "❌");
+        return snap.invariantHolds();
+    }
+
+    private void recordInvariant(boolean ok, long actual) {
+        lastInvariantOk = ok;
+        lastInvariantActual = actual;
+        lastInvariantCheckMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Guarda un checkpoint binario en {@code file} (archivo mapeado en memoria).
+     *
+     * Si la simulación corre, la pausa primero y la deja pausada (el llamador
+     * decide cuándo reanudar); los muertos pendientes se contabilizan antes de
+     * escribir. Debe tomarse antes de stop(), que vacía la población.
+     *
+     * @return bytes escritos
+     * @throws IllegalStateException si la pausa no llegó a quiescencia: se
+     *         reanuda y no se escribe nada (sería una imagen a medias); o si ya
+     *         se llamó stop()
+     */
+    public long checkpoint(Path file) throws IOException {
+        if (terminated) {
+            throw new IllegalStateException("Checkpoint después de stop(): la población ya se vació");
+        }
+        if (running.get() && !pause()) {
+            resume();
+            throw new IllegalStateException("Checkpoint cancelado: no todos los inmortales se pausaron");
+        }
+        Checkpoint.State state;
+        synchronized (this) {
+            cleanDead();
+            int n = all.length;
+            String[] names = new String[n];
+            int[] health = new int[n];
+            boolean[] alive = new boolean[n];
+            long[] dealt = new long[n];
+            long[] received = new long[n];
+            for (int i = 0; i < n; i++) {
+                Immortal im = all[i];
+                names[i] = im.name();
+                health[i] = im.getHealth();
+                alive[i] = im.slot >= 0;
+                dealt[i] = scoreBoard.damageDealt(im);
+                received[i] = scoreBoard.damageReceived(im);
             }
+            state = new Checkpoint.State(initialHealth, damage, fairLocks, fightMode, executorType,
+                    deadHealthSum, deadRemoved, scoreBoard.totalFights(), scoreBoard.kills(),
+                    scoreBoard.tryLockMisses(), names, health, alive, dealt, received);
+        }
+        long t0 = System.nanoTime();
+        long bytes = Checkpoint.write(state, file);
+        Log.info("[CHECKPOINT] %,d inmortales -> %s (%,d bytes, %,d µs)", all.length, file, bytes,
+                (System.nanoTime() - t0) / 1000);
+        return bytes;
+    }
+
+    /**
+     * Reconstruye un gestor (sin iniciar) desde un checkpoint: misma
+     * configuración, salud, vivos, muertos contabilizados y contadores.
+     */
+    public static ImmortalManager restore(Path file) throws IOException {
+        Checkpoint.State s = Checkpoint.read(file);
+        ImmortalManager m = new ImmortalManager(s.size(), s.fightMode(), s.initialHealth(), s.damage(),
+                s.executorType(), s.fairLocks(), s);
+        Log.info("[CHECKPOINT] Restaurado desde %s: %,d vivos de %,d", file, m.aliveCount(), s.size());
+        return m;
+    }
+
+    /**
+     * Registra cada traspaso de salud en una {@link FightJournal} desde el
+     * próximo start() hasta stop(); null la desactiva. La salud de partida
+     * sale del estado actual, así que sirve también tras restore().
+     */
+    public void journalTo(Path file) {
+        this.journalFile = file;
+    }
+
+    private static Path journalProperty() {
+        String p = System.getProperty("fight.journal");
+        return p == null || p.isBlank() ? null : Path.of(p);
+    }
+
+    // Llamado desde start(): todavía no pelea nadie
+    private void openJournal() {
+        Path file = journalFile;
+        if (file == null)
+            return;
+        int[] health = new int[all.length];
+        for (int i = 0; i < all.length; i++)
+            health[i] = all[i].getHealth();
+        try {
+            journal = FightJournal.open(file, health);
+            scoreBoard.journal(journal);
+            Log.info("[JOURNAL] Registrando peleas en %s", file);
+        } catch (IOException e) {
+            Log.warn("[JOURNAL] No se pudo abrir %s: %s", file, e);
         }
-        return count;
+    }
+
+    // Llamado desde stop() con los hilos ya detenidos: la salud es final
+    private void closeJournal() {
+        FightJournal j = journal;
+        if (j == null)
+            return;
+        scoreBoard.journal(null);
+        journal = null;
+        int[] health = new int[all.length];
+        for (int i = 0; i < all.length; i++)
+            health[i] = all[i].getHealth();
+        try {
+            j.close(health);
+            Log.info("[JOURNAL] %,d traspasos en %s (%,d descartados)", j.recorded() - j.dropped(), j.file(),
+                    j.dropped());
+        } catch (IOException e) {
+            Log.warn("[JOURNAL] Error cerrando %s: %s", j.file(), e);
+        }
+    }
+
+    /**
+     * Contar inmortales vivos
+     */
+    public int aliveCount() {
+        return population.size();
     }
 
     /**
@@ -303,49 +658,46 @@ public final class ImmortalManager implements AutoCloseable {
     public List<Immortal> populationSnapshot() {
         // Asegurar que esté pausado
         if (!controller.paused()) {
-            System.out.println("[SNAPSHOT] No está pausado, pausando primero...");
+            Log.info("[SNAPSHOT] No está pausado, pausando primero...");
             pause();
         }
 
         // Crear copia de la población viva
         List<Immortal> snapshot = new ArrayList<>();
-        for (Immortal im : population) {
+        for (Immortal im : population.snapshot()) {
             if (im.isAlive()) {
                 snapshot.add(im);
             }
         }
 
-        System.out.printf("[SNAPSHOT] Tomada con %,d inmortales vivos%n", snapshot.size());
+        Log.info("[SNAPSHOT] Tomada con %,d inmortales vivos", snapshot.size());
         return Collections.unmodifiableList(snapshot);
     }
 
     /**
      * Punto 10: Limpiar inmortales muertos
      */
-    private void cleanDead() {
+    private synchronized void cleanDead() {
         Immortal dead;
         int removedThisCycle = 0;
 
+        // El inmortal ya salió del registro al morir; aquí se contabiliza
         while ((dead = deadQueue.poll()) != null) {
-            if (population.remove(dead)) {
-                synchronized (this) {
-                    deadHealthSum += dead.getHealth();
-                }
-                removedThisCycle++;
-                deadRemoved++;
+            deadHealthSum += dead.getHealth();
+            removedThisCycle++;
+            deadRemoved++;
 
-                if (removedThisCycle <= 3) { // Log solo primeros 3
-                    System.out.printf("[CLEANUP] Eliminado: %s%n", dead.name());
-                }
+            if (removedThisCycle <= 3) { // Log solo primeros 3
+                Log.debug("[CLEANUP] Eliminado: %s", dead.name());
             }
         }
 
         if (removedThisCycle > 0) {
-            System.out.printf("[CLEANUP] Eliminados %,d inmortales. Población: %,d%n",
+            Log.info("[CLEANUP] Eliminados %,d inmortales. Población: %,d",
                     removedThisCycle, population.size());
 
             if (removedThisCycle > 3) {
-                System.out.printf("[CLEANUP] ...y %,d más%n", removedThisCycle - 3);
+                Log.info("[CLEANUP] ...y %,d más", removedThisCycle - 3);
             }
         }
     }
@@ -361,6 +713,11 @@ public final class ImmortalManager implements AutoCloseable {
         return controller;
     }
 
+    public String executorType() {
+        return executorType;
+    }
+
+    @Override
     public boolean isRunning() {
         return running.get();
     }
@@ -369,6 +726,7 @@ public final class ImmortalManager implements AutoCloseable {
         return population.size();
     }
 
+    @Override
     public long getTotalFights() {
         return scoreBoard.totalFights();
     }
@@ -381,11 +739,107 @@ public final class ImmortalManager implements AutoCloseable {
         return running.get() ? System.currentTimeMillis() - startTime : 0;
     }
 
+    // --- ImmortalManagerMXBean ---
+
+    @Override
+    public String getFightMode() {
+        return fightMode;
+    }
+
+    @Override
+    public String getExecutorType() {
+        return executorType;
+    }
+
+    @Override
+    public double getFightsPerSecond() {
+        return fightRate.rate(scoreBoard.totalFights());
+    }
+
+    @Override
+    public long getKills() {
+        return scoreBoard.kills();
+    }
+
+    @Override
+    public long getTryLockMisses() {
+        return scoreBoard.tryLockMisses();
+    }
+
+    @Override
+    public int getAliveCount() {
+        return population.size();
+    }
+
+    @Override
+    public int getDeadQueueDepth() {
+        return deadQueue.size();
+    }
+
+    @Override
+    public boolean isPaused() {
+        return controller.paused();
+    }
+
+    @Override
+    public int getPausedThreads() {
+        return controller.getPausedThreadsCount();
+    }
+
+    @Override
+    public int getTotalThreads() {
+        return controller.getTotalThreads();
+    }
+
+    @Override
+    public boolean isLastInvariantOk() {
+        return lastInvariantOk;
+    }
+
+    @Override
+    public long getLastInvariantActual() {
+        return lastInvariantActual;
+    }
+
+    @Override
+    public long getLastInvariantCheckMillis() {
+        return lastInvariantCheckMillis;
+    }
+
+    /**
+     * Nombre JMX mientras corre, o null
+     */
+    public ObjectName mbeanName() {
+        return mbeanName;
+    }
+
+    private void registerMBean() {
+        try {
+            mbeanName = new ObjectName("edu.eci.arsw:type=ImmortalManager,name=manager-" + MBEAN_SEQ.incrementAndGet());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, mbeanName);
+        } catch (JMException e) {
+            Log.warn("[JMX] No se pudo registrar el MBean: %s", e);
+            mbeanName = null;
+        }
+    }
+
+    private void unregisterMBean() {
+        if (mbeanName == null)
+            return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbeanName);
+        } catch (JMException e) {
+            Log.warn("[JMX] No se pudo retirar el MBean: %s", e);
+        }
+        mbeanName = null;
+    }
+
     /**
      * Punto 11: Para uso con try-with-resources
      */
     @Override
     public void close() {
         stop();
+        control.shutdown();
     }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Vista JMX de un {@link ImmortalManager} en ejecución (JConsole, VisualVM,
+ * scrapers). Se registra en start() como
+ * {@code edu.eci.arsw:type=ImmortalManager,name=manager-N} y se retira en stop().
+ */
+public interface ImmortalManagerMXBean {
+    boolean isRunning();
+
+    String getFightMode();
+
+    String getExecutorType();
+
+    long getTotalFights();
+
+    /**
+     * Peleas por segundo en la última ventana de ~1 s.
+     */
+    double getFightsPerSecond();
+
+    long getKills();
+
+    long getTryLockMisses();
+
+    int getAliveCount();
+
+    int getDeadQueueDepth();
+
+    boolean isPaused();
+
+    int getPausedThreads();
+
+    int getTotalThreads();
+
+    long getExpectedTotalHealth();
+
+    /**
+     * Resultado de la última verificación del invariante (con o sin pausa);
+     * false si todavía no se verificó.
+     */
+    boolean isLastInvariantOk();
+
+    long getLastInvariantActual();
+
+    /**
+     * Momento (epoch millis) de la última verificación, 0 si no hubo.
+     */
+    long getLastInvariantCheckMillis();
+
+    /**
+     * Verifica el invariante sobre un snapshot sin pausar la simulación.
+     */
+    boolean checkInvariantLive();
+}
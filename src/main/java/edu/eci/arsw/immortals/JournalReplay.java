@@ -0,0 +1,164 @@
+package edu.eci.arsw.immortals;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Repetición fuera de línea de una {@link FightJournal}: parte de la salud
+ * inicial, aplica cada traspaso y verifica el invariante N×H.
+ *
+ * Si la bitácora tiene cierre, además compara la salud reconstruida de cada
+ * inmortal con la observada al detener la simulación: una diferencia indica
+ * una escritura de salud que no pasó por una pelea registrada (o registros
+ * descartados).
+ *
+ * mvn -q -DskipTests exec:java -Dmode=replay -Djournal=fights.journal
+ */
+public final class JournalReplay {
+    private JournalReplay() {
+    }
+
+    /**
+     * @param health      salud reconstruida por inmortal
+     * @param finalHealth salud observada al cierre, o null si no hubo cierre
+     * @param mismatches  inmortales cuya salud reconstruida difiere de la final
+     */
+    public record Result(int size, long records, long dropped, long expectedTotal, long replayedTotal,
+            long finalTotal, int[] health, int[] finalHealth, int mismatches) {
+
+        public boolean closed() {
+            return finalHealth != null;
+        }
+
+        public boolean invariantHolds() {
+            return replayedTotal == expectedTotal
+                    && (!closed() || (finalTotal == expectedTotal && mismatches == 0));
+        }
+    }
+
+    public static Result replay(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20);
+            buf.limit(0);
+            if (need(ch, buf, 4 * 3 + 8).getInt() != FightJournal.MAGIC)
+                throw new IOException("No es una bitácora de peleas: " + file);
+            int version = buf.getInt();
+            if (version != FightJournal.VERSION)
+                throw new IOException("Versión de bitácora no soportada: " + version);
+            int n = buf.getInt();
+            buf.getLong(); // inicio
+            int[] health = ints(ch, buf, n);
+            long expected = 0;
+            for (int h : health)
+                expected += h;
+
+            long records = 0;
+            int[] finalHealth = null;
+            long dropped = 0;
+            while (fill(ch, buf, 4)) {
+                int attacker = buf.getInt(buf.position());
+                if (attacker == FightJournal.TRAILER) {
+                    need(ch, buf, 4 * 2 + 8 * 2);
+                    buf.getInt();
+                    if (buf.getInt() != n)
+                        throw new IOException("Cierre de bitácora inconsistente");
+                    buf.getLong(); // registros escritos
+                    dropped = buf.getLong();
+                    finalHealth = ints(ch, buf, n);
+                    break;
+                }
+                // Último registro a medio escribir (la simulación se cayó)
+                if (!fill(ch, buf, FightJournal.RECORD))
+                    break;
+                attacker = buf.getInt();
+                int victim = buf.getInt();
+                int damage = buf.getInt();
+                buf.getLong();
+                if (attacker < 0 || attacker >= n || victim < 0 || victim >= n)
+                    throw new IOException("Registro " + records + " fuera de rango: " + attacker + " -> " + victim);
+                health[attacker] += damage;
+                health[victim] -= damage;
+                records++;
+            }
+
+            long replayed = 0;
+            for (int h : health)
+                replayed += h;
+            long finalTotal = 0;
+            int mismatches = 0;
+            if (finalHealth != null) {
+                for (int i = 0; i < n; i++) {
+                    finalTotal += finalHealth[i];
+                    if (finalHealth[i] != health[i])
+                        mismatches++;
+                }
+            }
+            return new Result(n, records, dropped, expected, replayed, finalTotal, health, finalHealth, mismatches);
+        }
+    }
+
+    /**
+     * Repite la bitácora e imprime el resultado.
+     *
+     * @return false si el invariante no se cumple
+     */
+    public static boolean run(Path file) throws IOException {
+        Result r = replay(file);
+        System.out.printf("Bitácora %s: %,d inmortales, %,d traspasos%n", file, r.size(), r.records());
+        System.out.printf("Invariante N×H: esperado %,d | reconstruido %,d%n", r.expectedTotal(), r.replayedTotal());
+        if (r.closed()) {
+            System.out.printf("Estado final observado: %,d | inmortales que no cuadran: %,d | descartados: %,d%n",
+                    r.finalTotal(), r.mismatches(), r.dropped());
+            int shown = 0;
+            for (int i = 0; i < r.size() && shown < 10; i++) {
+                if (r.health()[i] != r.finalHealth()[i]) {
+                    System.out.printf("  #%d: reconstruido %d | observado %d%n", i, r.health()[i], r.finalHealth()[i]);
+                    shown++;
+                }
+            }
+        } else {
+            System.out.println("Sin cierre (la simulación no se detuvo limpiamente): solo se verifica la suma");
+        }
+        System.out.println(r.invariantHolds() ? "OK ✅" : "VIOLACIÓN ❌");
+        return r.invariantHolds();
+    }
+
+    private static int[] ints(FileChannel ch, ByteBuffer buf, int n) throws IOException {
+        int[] out = new int[n];
+        int done = 0;
+        while (done < n) {
+            if (!fill(ch, buf, 4))
+                throw new EOFException("Bitácora truncada");
+            int k = Math.min(n - done, buf.remaining() / 4);
+            buf.asIntBuffer().get(out, done, k);
+            buf.position(buf.position() + 4 * k);
+            done += k;
+        }
+        return out;
+    }
+
+    private static ByteBuffer need(FileChannel ch, ByteBuffer buf, int bytes) throws IOException {
+        if (!fill(ch, buf, bytes))
+            throw new EOFException("Bitácora truncada");
+        return buf;
+    }
+
+    // Deja al menos bytes disponibles en buf; false si el archivo se acabó antes
+    private static boolean fill(FileChannel ch, ByteBuffer buf, int bytes) throws IOException {
+        if (buf.remaining() >= bytes)
+            return true;
+        buf.compact();
+        while (buf.position() < bytes) {
+            if (ch.read(buf) < 0) {
+                buf.flip();
+                return false;
+            }
+        }
+        buf.flip();
+        return true;
+    }
+}
@@ -0,0 +1,76 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import edu.eci.arsw.concurrency.Log;
+import edu.eci.arsw.concurrency.TimeSeriesRing;
+
+/**
+ * Muestrea un {@link ImmortalManager} a tasa fija en un hilo propio y guarda
+ * las muestras en un {@link TimeSeriesRing}.
+ *
+ * Solo lee contadores: peleas del ScoreBoard (LongAdder), vivos del
+ * AliveRegistry (lectura optimista) y la salud total de
+ * {@link ImmortalManager#healthSnapshot()}, que cierra una época del gate sin
+ * pausar ni tomar los locks de los inmortales.
+ */
+public final class ManagerSampler implements AutoCloseable {
+    public static final int FIGHTS_PER_SEC = 0;
+    public static final int ALIVE = 1;
+    public static final int TOTAL_HEALTH = 2;
+    public static final int PAUSE_LATENCY_MICROS = 3;
+
+    private final ImmortalManager manager;
+    private final TimeSeriesRing series;
+    private final ScheduledExecutorService timer;
+    private long lastFights;
+    private long lastNanos;
+
+    /**
+     * @param periodMs cada cuánto tomar una muestra
+     * @param capacity muestras que se conservan
+     */
+    public ManagerSampler(ImmortalManager manager, long periodMs, int capacity) {
+        this.manager = manager;
+        this.series = new TimeSeriesRing(capacity, "fights/s", "vivos", "salud total", "pausa (µs)");
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Manager-Sampler");
+            t.setDaemon(true);
+            return t;
+        });
+        this.lastFights = manager.getTotalFights();
+        this.lastNanos = System.nanoTime();
+        timer.scheduleAtFixedRate(this::sample, periodMs, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void sample() {
+        try {
+            long now = System.nanoTime();
+            long fights = manager.getTotalFights();
+            double rate = (fights - lastFights) * 1e9 / Math.max(1, now - lastNanos);
+            lastFights = fights;
+            lastNanos = now;
+
+            long pauseNanos = manager.controller().lastPauseLatencyNanos();
+            series.add(System.currentTimeMillis(),
+                    rate,
+                    manager.getAliveCount(),
+                    manager.healthSnapshot().totalHealth(),
+                    pauseNanos < 0 ? Double.NaN : pauseNanos / 1e3);
+        } catch (RuntimeException e) {
+            // Una muestra fallida no debe cancelar las siguientes
+            Log.warn("[SAMPLER] Muestra fallida: %s", e);
+        }
+    }
+
+    public TimeSeriesRing series() {
+        return series;
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+}
@@ -0,0 +1,31 @@
+package edu.eci.arsw.immortals;
+
+import edu.eci.arsw.concurrency.LockMetrics;
+
+/**
+ * Toma el lock propio y luego el del oponente: dos inmortales que se atacan
+ * mutuamente pueden quedar en deadlock (útil para reproducirlo).
+ */
+final class NaiveFight implements FightStrategy {
+    private final LockMetrics metrics = LockMetrics.of("fight.naive");
+
+    // Con virtual threads un bloque synchronized fija (pin) el carrier mientras
+    // espera el monitor; ReentrantLock en cambio permite desmontar el hilo.
+    @Override
+    public boolean fight(Immortal self, Immortal other) {
+        long start = LockMetrics.now();
+        self.lock().lock();
+        try {
+            other.lock().lock();
+            long held = metrics.acquired(start);
+            try {
+                return self.strike(other);
+            } finally {
+                other.lock().unlock();
+                metrics.released(held);
+            }
+        } finally {
+            self.lock().unlock();
+        }
+    }
+}
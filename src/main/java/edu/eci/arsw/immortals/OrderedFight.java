@@ -0,0 +1,31 @@
+package edu.eci.arsw.immortals;
+
+import edu.eci.arsw.concurrency.LockMetrics;
+
+/**
+ * Toma los dos locks en orden total por id: sin deadlock.
+ */
+final class OrderedFight implements FightStrategy {
+    private final LockMetrics metrics = LockMetrics.of("fight.ordered");
+
+    @Override
+    public boolean fight(Immortal self, Immortal other) {
+        Immortal first = self.id() < other.id() ? self : other;
+        Immortal second = self.id() < other.id() ? other : self;
+
+        long start = LockMetrics.now();
+        first.lock().lock();
+        try {
+            second.lock().lock();
+            long held = metrics.acquired(start);
+            try {
+                return self.strike(other);
+            } finally {
+                second.lock().unlock();
+                metrics.released(held);
+            }
+        } finally {
+            first.lock().unlock();
+        }
+    }
+}
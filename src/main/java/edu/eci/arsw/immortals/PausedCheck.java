@@ -0,0 +1,21 @@
+package edu.eci.arsw.immortals;
+
+import java.util.List;
+
+/**
+ * Resultado de una pausa con verificación, tomado entero en el hilo de
+ * control: ningún resume() se cuela entre los vivos y la suma.
+ *
+ * @param alive          inmortales vivos durante la pausa
+ * @param totalHealth    suma de salud de vivos y muertos
+ * @param expectedHealth N × H
+ * @param quiescent      si todos los workers llegaron a estacionarse
+ * @param pausedThreads  workers estacionados al tomar la suma
+ * @param totalThreads   workers registrados
+ */
+public record PausedCheck(List<Immortal> alive, long totalHealth, long expectedHealth, boolean quiescent,
+        int pausedThreads, int totalThreads) {
+    public boolean invariantHolds() {
+        return totalHealth == expectedHealth;
+    }
+}
@@ -1,9 +1,241 @@
 package edu.eci.arsw.immortals;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Estadísticas de la simulación sin un contador compartido en el hot path.
+ *
+ * Los totales (peleas, muertes, fallos de tryLock) son {@link LongAdder}:
+ * cada núcleo suma en su propia celda. El daño hecho/recibido se guarda por
+ * inmortal en bloques de {@link AtomicLongArray} (cada pelea toca solo las
+ * entradas de sus dos participantes), una línea de caché por inmortal para
+ * que peleas de vecinos no se disputen la misma línea. Las peleas por hilo van
+ * en una celda propia de cada hilo con un único escritor; las celdas de hilos
+ * terminados se pliegan en un acumulado por nombre. Las lecturas agregan al
+ * vuelo.
+ */
 public final class ScoreBoard {
-    private final AtomicLong totalFights = new AtomicLong();
-    public void recordFight() { totalFights.incrementAndGet(); }
-    public long totalFights() { return totalFights.get(); }
-}
\ No newline at end of file
+    // Bloques de 4096 inmortales × [hecho, recibido, relleno hasta 64 bytes]
+    private static final int SHIFT = 12;
+    private static final int CHUNK = 1 << SHIFT;
+    private static final int MASK = CHUNK - 1;
+    private static final int STRIDE = 8;
+
+    private final LongAdder totalFights = new LongAdder();
+    private final LongAdder kills = new LongAdder();
+    private final LongAdder tryLockMisses = new LongAdder();
+
+    // Solo crece; los bloques existentes nunca se reemplazan
+    private volatile AtomicLongArray[] chunks = new AtomicLongArray[0];
+    private final List<Immortal> registered = new ArrayList<>();
+
+    // Bitácora opcional de cada traspaso (ver ImmortalManager.journalTo)
+    private volatile FightJournal journal;
+
+    private final ThreadLocal<ThreadCell> cell = ThreadLocal.withInitial(this::newCell);
+    private final Queue<ThreadCell> cells = new ConcurrentLinkedQueue<>();
+    // Celdas vivas en cells y umbral del próximo barrido (se duplica)
+    private final AtomicInteger cellCount = new AtomicInteger();
+    private volatile int sweepAt = 64;
+    // Peleas de hilos ya terminados, por nombre; se protege a sí mismo
+    private final Map<String, Long> retired = new LinkedHashMap<>();
+
+    /**
+     * Reserva las entradas por inmortal; se llama al construirlo.
+     *
+     * @return índice del inmortal en este marcador
+     */
+    synchronized int register(Immortal im) {
+        int index = registered.size();
+        AtomicLongArray[] cs = chunks;
+        if ((index >>> SHIFT) >= cs.length) {
+            cs = Arrays.copyOf(cs, cs.length + 1);
+            cs[cs.length - 1] = new AtomicLongArray(STRIDE * CHUNK);
+            chunks = cs;
+        }
+        registered.add(im);
+        return index;
+    }
+
+    /**
+     * Una pelea de attacker sobre victim que movió damage de salud.
+     */
+    public void recordFight(Immortal attacker, Immortal victim, int damage) {
+        totalFights.increment();
+        cell.get().increment();
+        add(attacker.statsIndex(), 0, damage);
+        add(victim.statsIndex(), 1, damage);
+        FightJournal j = journal;
+        if (j != null)
+            j.record(attacker.statsIndex(), victim.statsIndex(), damage);
+    }
+
+    void journal(FightJournal journal) {
+        this.journal = journal;
+    }
+
+    public void recordKill() {
+        kills.increment();
+    }
+
+    // Intentos de fightTryLock que no hicieron nada por no obtener un lock
+    public void recordTryLockMiss() {
+        tryLockMisses.increment();
+    }
+
+    // Contadores de un checkpoint, sobre un marcador recién creado
+    void restore(long fights, long kills, long misses) {
+        totalFights.add(fights);
+        this.kills.add(kills);
+        tryLockMisses.add(misses);
+    }
+
+    void restoreDamage(Immortal im, long dealt, long received) {
+        add(im.statsIndex(), 0, dealt);
+        add(im.statsIndex(), 1, received);
+    }
+
+    private void add(int index, int which, long delta) {
+        if (index < 0)
+            return;
+        chunks[index >>> SHIFT].getAndAdd(STRIDE * (index & MASK) + which, delta);
+    }
+
+    private long get(int index, int which) {
+        if (index < 0 || (index >>> SHIFT) >= chunks.length)
+            return 0;
+        return chunks[index >>> SHIFT].get(STRIDE * (index & MASK) + which);
+    }
+
+    public long totalFights() {
+        return totalFights.sum();
+    }
+
+    public long kills() {
+        return kills.sum();
+    }
+
+    public long tryLockMisses() {
+        return tryLockMisses.sum();
+    }
+
+    public long damageDealt(Immortal im) {
+        return get(im.statsIndex(), 0);
+    }
+
+    public long damageReceived(Immortal im) {
+        return get(im.statsIndex(), 1);
+    }
+
+    /**
+     * Daño hecho y recibido de cada inmortal registrado, en orden de creación.
+     */
+    public List<ImmortalStats> immortalStats() {
+        List<Immortal> ims;
+        synchronized (this) {
+            ims = new ArrayList<>(registered);
+        }
+        List<ImmortalStats> out = new ArrayList<>(ims.size());
+        for (int i = 0; i < ims.size(); i++) {
+            out.add(new ImmortalStats(ims.get(i).name(), get(i, 0), get(i, 1)));
+        }
+        return out;
+    }
+
+    /**
+     * Peleas registradas por cada hilo (por nombre al momento de su primera
+     * pelea). Los hilos que ya terminaron siguen contando.
+     */
+    public Map<String, Long> fightsPerThread() {
+        synchronized (retired) {
+            Map<String, Long> out = new LinkedHashMap<>(retired);
+            for (ThreadCell c : cells) {
+                out.merge(c.thread, c.get(), Long::sum);
+            }
+            return out;
+        }
+    }
+
+    private ThreadCell newCell() {
+        ThreadCell c = new ThreadCell(Thread.currentThread());
+        cells.add(c);
+        if (cellCount.incrementAndGet() >= sweepAt)
+            sweep();
+        return c;
+    }
+
+    // Pliega las celdas de hilos terminados (su cuenta ya no cambia); el
+    // umbral se duplica sobre lo que sigue vivo, así el costo es amortizado
+    private void sweep() {
+        synchronized (retired) {
+            int removed = 0;
+            for (Iterator<ThreadCell> it = cells.iterator(); it.hasNext();) {
+                ThreadCell c = it.next();
+                if (c.terminated()) {
+                    it.remove();
+                    retired.merge(c.thread, c.get(), Long::sum);
+                    removed++;
+                }
+            }
+            int live = cellCount.addAndGet(-removed);
+            sweepAt = Math.max(64, 2 * live);
+        }
+    }
+
+    // Celdas en seguimiento (vivas o aún sin barrer)
+    int trackedCells() {
+        return cellCount.get();
+    }
+
+    public record ImmortalStats(String name, long damageDealt, long damageReceived) {
+    }
+
+    // Un solo escritor (su hilo): incremento sin CAS, publicado con setOpaque
+    private static final class ThreadCell {
+        private static final VarHandle COUNT;
+        static {
+            try {
+                COUNT = MethodHandles.lookup().findVarHandle(ThreadCell.class, "count", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        final String thread;
+        // Débil: una celda no debe retener un hilo virtual terminado
+        private final WeakReference<Thread> owner;
+        private long count;
+
+        ThreadCell(Thread owner) {
+            this.thread = owner.getName();
+            this.owner = new WeakReference<>(owner);
+        }
+
+        // Un hilo que terminó ya no escribe: isAlive() false ordena su última escritura
+        boolean terminated() {
+            Thread t = owner.get();
+            return t == null || !t.isAlive();
+        }
+
+        void increment() {
+            COUNT.setOpaque(this, (long) COUNT.getOpaque(this) + 1);
+        }
+
+        long get() {
+            return (long) COUNT.getOpaque(this);
+        }
+    }
+}
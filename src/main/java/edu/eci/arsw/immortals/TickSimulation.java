@@ -0,0 +1,182 @@
+package edu.eci.arsw.immortals;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Simulación determinista por rondas (ticks).
+ *
+ * En cada tick se baraja la lista de vivos con un generador sembrado y se
+ * forman parejas disjuntas (order[2i] ataca a order[2i+1]). Como ninguna
+ * pelea del tick comparte inmortal con otra, las peleas corren en paralelo en
+ * un {@link ForkJoinPool} sin ningún lock por entidad. Los muertos se retiran
+ * al final del tick en orden estable, así que la misma semilla produce el
+ * mismo resultado sin importar el paralelismo.
+ *
+ * Los ticks los conduce un solo hilo; la clase no es thread-safe.
+ */
+public final class TickSimulation implements AutoCloseable {
+    // Parejas por tarea hoja del fork/join
+    private static final int THRESHOLD = 2048;
+
+    private final int count;
+    private final int initialHealth;
+    private final int damage;
+    private final int[] health;
+    private final SplittableRandom random;
+    private final ForkJoinPool pool;
+
+    // Vivos en orden estable; order[] es la permutación del tick actual
+    private final int[] alive;
+    private int aliveCount;
+    private final int[] order;
+
+    private long tick = 0;
+    private long fights = 0;
+
+    public TickSimulation(int n, int initialHealth, int damage, long seed) {
+        this(n, initialHealth, damage, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    public TickSimulation(int n, int initialHealth, int damage, long seed, int parallelism) {
+        if (n <= 1)
+            throw new IllegalArgumentException("N debe ser > 1");
+        if (initialHealth <= 0)
+            throw new IllegalArgumentException("Salud debe ser > 0");
+        if (damage <= 0)
+            throw new IllegalArgumentException("Daño debe ser > 0");
+
+        this.count = n;
+        this.initialHealth = initialHealth;
+        this.damage = damage;
+        this.health = new int[n];
+        Arrays.fill(health, initialHealth);
+        this.alive = new int[n];
+        for (int i = 0; i < n; i++)
+            alive[i] = i;
+        this.aliveCount = n;
+        this.order = new int[n];
+        this.random = new SplittableRandom(seed);
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Ejecuta un tick: emparejamiento sembrado, peleas en paralelo, limpieza.
+     *
+     * @return cantidad de peleas del tick
+     */
+    public int tick() {
+        int n = aliveCount;
+        if (n < 2)
+            return 0;
+
+        // Fisher-Yates sembrado: la única fuente de aleatoriedad
+        System.arraycopy(alive, 0, order, 0, n);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+
+        int pairs = n / 2;
+        pool.invoke(new Fights(0, pairs));
+
+        // Retirar muertos manteniendo el orden (determinista)
+        int w = 0;
+        for (int i = 0; i < n; i++) {
+            int id = alive[i];
+            if (health[id] > 0)
+                alive[w++] = id;
+        }
+        aliveCount = w;
+
+        tick++;
+        fights += pairs;
+        return pairs;
+    }
+
+    private final class Fights extends RecursiveAction {
+        private final int from;
+        private final int to;
+
+        Fights(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int p = from; p < to; p++) {
+                    int a = order[2 * p];
+                    int b = order[2 * p + 1];
+                    health[b] -= damage;
+                    health[a] += damage;
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Fights(from, mid), new Fights(mid, to));
+        }
+    }
+
+    public void runTicks(long ticks) {
+        for (long i = 0; i < ticks && aliveCount > 1; i++)
+            tick();
+    }
+
+    /**
+     * Corre hasta que quede un solo inmortal o se agoten los ticks.
+     */
+    public long runUntilOneLeft(long maxTicks) {
+        long start = tick;
+        runTicks(maxTicks);
+        return tick - start;
+    }
+
+    public long totalHealth() {
+        long sum = 0;
+        for (int h : health)
+            sum += h;
+        return sum;
+    }
+
+    public long getExpectedTotalHealth() {
+        return (long) count * initialHealth;
+    }
+
+    public boolean checkInvariant() {
+        return totalHealth() == getExpectedTotalHealth();
+    }
+
+    /**
+     * Copia de la salud por id, para comparar corridas con la misma semilla.
+     */
+    public int[] healthSnapshot() {
+        return health.clone();
+    }
+
+    public int health(int id) {
+        return health[id];
+    }
+
+    public int aliveCount() {
+        return aliveCount;
+    }
+
+    public long ticks() {
+        return tick;
+    }
+
+    public long getTotalFights() {
+        return fights;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
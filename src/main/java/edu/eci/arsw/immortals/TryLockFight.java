@@ -0,0 +1,35 @@
+package edu.eci.arsw.immortals;
+
+import edu.eci.arsw.concurrency.LockMetrics;
+
+/**
+ * tryLock sobre ambos sin esperar: si alguno está ocupado el intento se
+ * pierde (se cuenta en {@link ScoreBoard#tryLockMisses()}).
+ */
+final class TryLockFight implements FightStrategy {
+    private final LockMetrics metrics = LockMetrics.of("fight.trylock");
+
+    @Override
+    public boolean fight(Immortal self, Immortal other) {
+        long start = LockMetrics.now();
+        if (self.lock().tryLock()) {
+            try {
+                if (other.lock().tryLock()) {
+                    long held = metrics.acquired(start);
+                    try {
+                        return self.strike(other);
+                    } finally {
+                        other.lock().unlock();
+                        metrics.released(held);
+                    }
+                }
+            } finally {
+                self.lock().unlock();
+            }
+        }
+        // Intento perdido: no se obtuvo alguno de los dos locks
+        metrics.tryLockFailed();
+        self.recordTryLockMiss();
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+package edu.eci.arsw.concurrency;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.jupiter.api.Test;
+
+import edu.eci.arsw.concurrency.AsyncLogger.Level;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class AsyncLoggerTest {
+  @Test void drainsEveryMessageFromManyThreads() throws Exception {
+    var out = new ByteArrayOutputStream();
+    var err = new ByteArrayOutputStream();
+    try (var log = new AsyncLogger(1 << 16, Level.INFO, new PrintStream(out, true), new PrintStream(err, true))) {
+      Thread[] ts = new Thread[8];
+      for (int t = 0; t < ts.length; t++) {
+        int id = t;
+        ts[t] = new Thread(() -> {
+          for (int i = 0; i < 1000; i++) log.log(Level.INFO, "t%d m%d", id, i);
+          log.log(Level.DEBUG, "hidden");
+        });
+        ts[t].start();
+      }
+      for (Thread t : ts) t.join();
+      log.log(Level.WARN, "careful %s", "x");
+      assertTrue(log.flush(5000));
+      assertEquals(0, log.dropped());
+    }
+    String text = out.toString();
+    assertEquals(8000, text.lines().count());
+    assertTrue(text.contains("t7 m999"));
+    assertFalse(text.contains("hidden"));
+    assertEquals("WARN careful x", err.toString().strip());
+  }
+
+  @Test void dropsInsteadOfBlockingWhenFull() throws Exception {
+    var out = new ByteArrayOutputStream();
+    var sink = new PrintStream(out, true);
+    long dropped;
+    try (var log = new AsyncLogger(4, Level.INFO, sink, sink)) {
+      for (int i = 0; i < 100_000; i++) log.log(Level.INFO, "m%d", i);
+      assertTrue(log.flush(5000));
+      dropped = log.dropped();
+    }
+    assertEquals(100_000, out.toString().lines().count() + dropped);
+  }
+}
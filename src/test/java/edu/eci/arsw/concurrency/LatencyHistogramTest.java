@@ -0,0 +1,32 @@
+package edu.eci.arsw.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class LatencyHistogramTest {
+  @Test void bucketsCoverValuesWithBoundedError() {
+    long[] samples = {0, 1, 15, 16, 17, 1000, 123_456, 10_000_000_000L, Long.MAX_VALUE};
+    for (long v : samples) {
+      int b = LatencyHistogram.bucket(v);
+      assertTrue(LatencyHistogram.upperBound(b) >= v, "upper " + v);
+      assertTrue(b == 0 || LatencyHistogram.upperBound(b - 1) < v, "lower " + v);
+      assertTrue(LatencyHistogram.upperBound(b) - v <= Math.max(1, v / 16), "error " + v);
+    }
+  }
+
+  @Test void percentilesFromConcurrentRecords() throws Exception {
+    var h = new LatencyHistogram();
+    Thread[] ts = new Thread[4];
+    for (int t = 0; t < ts.length; t++) {
+      ts[t] = new Thread(() -> { for (long v = 1; v <= 10_000; v++) h.record(v * 1000); });
+      ts[t].start();
+    }
+    for (Thread t : ts) t.join();
+    assertEquals(40_000, h.count());
+    assertEquals(10_000_000, h.max());
+    long p50 = h.percentile(50);
+    assertTrue(p50 >= 5_000_000 && p50 <= 5_000_000 * 17 / 16, "p50=" + p50);
+    assertEquals(10_000_000, h.percentile(100));
+  }
+}
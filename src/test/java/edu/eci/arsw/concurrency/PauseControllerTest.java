@@ -0,0 +1,39 @@
+package edu.eci.arsw.concurrency;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class PauseControllerTest {
+  @Test void spuriousWakeupsDoNotRequeueAndBackToBackPausesStillRelease() throws Exception {
+    var pc = new PauseController();
+    pc.setTotalThreads(1);
+    var steps = new AtomicLong();
+    var worker = Thread.ofPlatform().daemon().start(() -> {
+      try {
+        while (true) { pc.awaitIfPaused(); steps.incrementAndGet(); }
+      } catch (InterruptedException e) { /* fin */ }
+    });
+
+    pc.pause();
+    assertTrue(pc.waitForAllPaused(5000));
+    // Despertares espurios: el worker vuelve a estacionarse sin duplicarse en la cola
+    for (int i = 0; i < 1000; i++) { LockSupport.unpark(worker); Thread.onSpinWait(); }
+    Thread.sleep(50);
+    assertEquals(1, pc.queuedWaiters());
+
+    // resume() y pause() seguidos: el worker puede no haber despertado aún, y el siguiente resume() igual lo suelta
+    pc.resume();
+    pc.pause();
+    assertTrue(pc.waitForAllPaused(5000));
+    long before = steps.get();
+    pc.resume();
+    long deadline = System.nanoTime() + 5_000_000_000L;
+    while (steps.get() == before && System.nanoTime() < deadline) Thread.sleep(1);
+    assertTrue(steps.get() > before, "worker quedó estacionado tras resume()");
+    worker.interrupt();
+  }
+}
@@ -0,0 +1,19 @@
+package edu.eci.arsw.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TimeSeriesRingTest {
+  @Test void keepsTheLatestSamplesInOrder() {
+    var ring = new TimeSeriesRing(4, "a", "b");
+    assertEquals(0, ring.window().size());
+    for (int i = 0; i < 10; i++) ring.add(i, i, -i);
+    var w = ring.window();
+    assertArrayEquals(new long[] {6, 7, 8, 9}, w.times());
+    assertArrayEquals(new double[] {6, 7, 8, 9}, w.values()[0]);
+    assertEquals(-9, w.last(1));
+    assertEquals(10, ring.version());
+    assertThrows(IllegalArgumentException.class, () -> ring.add(0, 1));
+  }
+}
@@ -0,0 +1,71 @@
+package edu.eci.arsw.core;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class MailboxLedgerTest {
+  @Test void crossShardTransfersConserveTheTotal() throws Exception {
+    // Tiny mailboxes so producers and owners both hit full queues
+    try (var ledger = new MailboxLedger(1001, 100, 4, 8)) {
+      var threads = new ArrayList<Thread>();
+      for (int t = 0; t < 6; t++) {
+        threads.add(Thread.ofPlatform().start(() -> {
+          var rnd = ThreadLocalRandom.current();
+          for (int i = 0; i < 20_000; i++) ledger.post(rnd.nextInt(1001), rnd.nextInt(1001), rnd.nextInt(1, 20));
+          // Only this thread's posts: settled once it returns
+          ledger.sync();
+        }));
+      }
+      // Audits while credits are in flight still see the exact total
+      for (int i = 0; i < 20; i++) assertEquals(100_100, ledger.audit());
+      for (Thread t : threads) t.join();
+      assertEquals(120_000, ledger.settled() + ledger.rejected());
+      long sum = 0;
+      for (int i = 0; i < 1001; i++) {
+        long b = ledger.balance(i);
+        assertTrue(b >= 0);
+        sum += b;
+      }
+      assertEquals(100_100, sum);
+    }
+  }
+
+  @Test void hotShardBacksUpToProducersNotOverflow() throws Exception {
+    var ledger = new MailboxLedger(64, 1_000_000, 4, 8);
+    var threads = new ArrayList<Thread>();
+    for (int t = 0; t < 4; t++) {
+      threads.add(Thread.ofPlatform().start(() -> {
+        var rnd = ThreadLocalRandom.current();
+        // Everything pays account 0: shards 1-3 all send credits to shard 0
+        for (int i = 0; i < 50_000; i++) ledger.post(1 + rnd.nextInt(63), 0, 1);
+        ledger.sync();
+      }));
+    }
+    for (Thread t : threads) t.join();
+    assertEquals(200_000, ledger.settled());
+    ledger.close();
+    // Cap (256) plus at most one marker per peer
+    assertTrue(ledger.peakOverflow() <= 256 + 3, () -> "overflow peak " + ledger.peakOverflow());
+  }
+
+  @Test void futuresReportEachOutcome() {
+    var ledger = new MailboxLedger(4, 10, 2, 4);
+    ledger.transfer(0, 3, 10).join();
+    var e = assertThrows(CompletionException.class, () -> ledger.transfer(0, 1, 1).join());
+    assertInstanceOf(IllegalArgumentException.class, e.getCause());
+    ledger.transfer(3, 3, 5).join();
+    assertEquals(0, ledger.balance(0));
+    assertEquals(20, ledger.balance(3));
+    assertEquals(1, ledger.rejected());
+    assertThrows(IndexOutOfBoundsException.class, () -> ledger.post(4, 0, 1));
+    ledger.close();
+    assertTrue(ledger.transfer(1, 2, 1).isCompletedExceptionally());
+    assertThrows(RejectedExecutionException.class, () -> ledger.post(1, 2, 1));
+  }
+}
@@ -0,0 +1,41 @@
+package edu.eci.arsw.core;
+
+import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class OffHeapLedgerTest {
+  @Test void transfersKeepTheAuditedTotal() throws Exception {
+    // 1001 accounts over 8 shards: the last row is short
+    var ledger = new OffHeapLedger(1001, 100, 8, 4);
+    var threads = new ArrayList<Thread>();
+    for (int t = 0; t < 8; t++) {
+      threads.add(Thread.ofPlatform().start(() -> {
+        var rnd = ThreadLocalRandom.current();
+        for (int i = 0; i < 20_000; i++) {
+          try { ledger.transfer(rnd.nextInt(1001), rnd.nextInt(1001), rnd.nextInt(1, 20)); }
+          catch (IllegalArgumentException drained) { /* insufficient funds */ }
+        }
+      }));
+    }
+    // Audits while transfers run see the exact total
+    for (int i = 0; i < 20; i++) assertEquals(100_100, ledger.audit());
+    for (Thread t : threads) t.join();
+    assertEquals(100_100, ledger.audit());
+    for (int i = 0; i < 1001; i++) assertTrue(ledger.balance(i) >= 0);
+  }
+
+  @Test void insufficientFundsChangesNothing() {
+    var ledger = new OffHeapLedger(4, 10, 2, 1);
+    ledger.transfer(0, 3, 10);
+    assertThrows(IllegalArgumentException.class, () -> ledger.transfer(0, 1, 1));
+    ledger.transfer(3, 3, 5);
+    assertEquals(0, ledger.balance(0));
+    assertEquals(20, ledger.balance(3));
+    assertEquals(40, ledger.audit());
+    assertThrows(IndexOutOfBoundsException.class, () -> ledger.balance(4));
+  }
+}
@@ -0,0 +1,56 @@
+package edu.eci.arsw.core;
+
+import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class OptimisticTransferTest {
+  @Test void mixedStrategiesNeverOverdrawAndReadersSeeWholeValues() throws Exception {
+    // Two hot accounts, optimistic and ordered writers racing for the same funds
+    var a = new BankAccount(1, 1_000);
+    var b = new BankAccount(2, 1_000);
+    var running = new AtomicBoolean(true);
+    var badReads = new AtomicLong();
+    var threads = new ArrayList<Thread>();
+    for (int t = 0; t < 6; t++) {
+      boolean optimistic = t % 2 == 0;
+      threads.add(Thread.ofPlatform().start(() -> {
+        var rnd = ThreadLocalRandom.current();
+        for (int i = 0; i < 50_000; i++) {
+          var from = rnd.nextBoolean() ? a : b;
+          var to = from == a ? b : a;
+          long amount = rnd.nextInt(1, 300);
+          try {
+            if (optimistic) TransferService.transferOptimistic(from, to, amount);
+            else TransferService.transferOrdered(from, to, amount);
+          } catch (IllegalArgumentException drained) { /* insufficient funds */ }
+        }
+      }));
+    }
+    var reader = Thread.ofPlatform().start(() -> {
+      while (running.get()) {
+        long x = a.balance();
+        if (x < 0 || x > 2_000) badReads.incrementAndGet();
+      }
+    });
+    for (Thread t : threads) t.join();
+    running.set(false);
+    reader.join();
+    assertEquals(0, badReads.get());
+    assertEquals(2_000, a.balance() + b.balance());
+  }
+
+  @Test void insufficientFundsIsReportedWithoutChanges() {
+    var a = new BankAccount(1, 5);
+    var b = new BankAccount(2, 0);
+    assertThrows(IllegalArgumentException.class, () -> TransferService.transferOptimistic(a, b, 6));
+    TransferService.transferOptimistic(a, b, 5);
+    assertEquals(0, a.balance());
+    assertEquals(5, b.balance());
+  }
+}
@@ -0,0 +1,57 @@
+package edu.eci.arsw.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class SettlementEngineTest {
+  @Test void opposingTransfersNetWithFewLocks() throws Exception {
+    var a = new BankAccount(1, 500);
+    var b = new BankAccount(2, 500);
+    List<CompletableFuture<Void>> done = new ArrayList<>();
+    try (var engine = new SettlementEngine(Duration.ofMillis(20))) {
+      var threads = new ArrayList<Thread>();
+      for (int t = 0; t < 4; t++) {
+        boolean ab = t % 2 == 0;
+        threads.add(Thread.ofVirtual().start(() -> {
+          for (int i = 0; i < 5_000; i++) {
+            var f = ab ? engine.submit(a, b, 1) : engine.submit(b, a, 1);
+            synchronized (done) { done.add(f); }
+          }
+        }));
+      }
+      for (Thread t : threads) t.join();
+      CompletableFuture.allOf(done.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+      assertEquals(20_000, engine.settled() + engine.rejected());
+      assertEquals(1_000, a.balance() + b.balance());
+      // Two locks per window instead of two per transfer
+      assertTrue(engine.lockAcquisitions() <= 2 * engine.windows());
+      assertTrue(engine.lockAcquisitions() < 2_000, "locks=" + engine.lockAcquisitions());
+    }
+  }
+
+  @Test void shortfallFailsOnlyThatTransfer() {
+    var a = new BankAccount(1, 5);
+    var b = new BankAccount(2, 0);
+    var engine = new SettlementEngine(Duration.ofSeconds(10), 3);
+    var ok1 = engine.submit(a, b, 5);
+    var tooMuch = engine.submit(a, b, 1);
+    var ok2 = engine.submit(b, a, 2);   // third submit closes the window early
+    ok1.join();
+    ok2.join();
+    var e = assertThrows(CompletionException.class, tooMuch::join);
+    assertInstanceOf(IllegalArgumentException.class, e.getCause());
+    assertEquals(2, a.balance());
+    assertEquals(3, b.balance());
+    engine.close();
+    assertThrows(CompletionException.class, () -> engine.submit(a, b, 1).join());
+    assertInstanceOf(RejectedExecutionException.class, engine.submit(a, b, 1).handle((v, x) -> x).join());
+  }
+}
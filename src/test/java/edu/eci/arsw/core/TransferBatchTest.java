@@ -0,0 +1,79 @@
+package edu.eci.arsw.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TransferBatchTest {
+  @Test void insufficientFundsAppliesNothing() {
+    var a = new BankAccount(1, 100);
+    var b = new BankAccount(2, 0);
+    var c = new BankAccount(3, 10);
+    // b can pay c only after receiving from a: checked in list order
+    TransferService.transferBatch(List.of(new Transfer(a, b, 60), new Transfer(b, c, 50)));
+    assertEquals(40, a.balance());
+    assertEquals(10, b.balance());
+    assertEquals(60, c.balance());
+
+    var failing = List.of(new Transfer(c, a, 20), new Transfer(b, a, 11));
+    assertThrows(IllegalArgumentException.class, () -> TransferService.transferBatch(failing));
+    assertEquals(40, a.balance());
+    assertEquals(10, b.balance());
+    assertEquals(60, c.balance());
+  }
+
+  @Test void concurrentBatchesAndPairsKeepTheTotal() throws Exception {
+    int n = 32;
+    var accs = new BankAccount[n];
+    for (int i = 0; i < n; i++) accs[i] = new BankAccount(i, 1_000);
+    runMixed(accs);
+  }
+
+  @Test void idsAcrossTwoToThe31KeepTheLockOrder() throws Exception {
+    // Half the ids below 2^31, half at or above it: batches must lock them in the same order as transferOrdered
+    int n = 16;
+    var accs = new BankAccount[n];
+    for (int i = 0; i < n; i++) accs[i] = new BankAccount((1L << 31) - n / 2 + i, 1_000);
+    runMixed(accs);
+  }
+
+  private static void runMixed(BankAccount[] accs) throws Exception {
+    int n = accs.length;
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    for (int t = 0; t < 8; t++) {
+      boolean batches = t % 2 == 0;
+      pool.submit(() -> {
+        var rnd = ThreadLocalRandom.current();
+        for (int i = 0; i < 2_000; i++) {
+          try {
+            if (batches) {
+              List<Transfer> batch = new ArrayList<>();
+              for (int k = 0; k < 8; k++) batch.add(new Transfer(accs[rnd.nextInt(n)], accs[rnd.nextInt(n)], rnd.nextInt(5)));
+              TransferService.transferBatch(batch);
+            } else {
+              int x = rnd.nextInt(n), y = (x + 1 + rnd.nextInt(n - 1)) % n;
+              TransferService.transferOrdered(accs[x], accs[y], 1);
+            }
+          } catch (IllegalArgumentException drained) {
+            // an account ran dry: skipped, nothing applied
+          }
+        }
+      });
+    }
+    pool.shutdown();
+    assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS), "deadlock or starvation");
+    long total = 0;
+    for (var acc : accs) {
+      assertTrue(acc.balance() >= 0);
+      total += acc.balance();
+    }
+    assertEquals(1_000L * n, total);
+  }
+}
@@ -0,0 +1,39 @@
+package edu.eci.arsw.immortals;
+
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Test;
+
+import edu.eci.arsw.concurrency.PauseController;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class AliveRegistryTest {
+  @Test void swapRemoveKeepsSamplingOnLiveMembers() {
+    var reg = new AliveRegistry(4);
+    var sb = new ScoreBoard();
+    var pc = new PauseController();
+    var dq = new ConcurrentLinkedQueue<Immortal>();
+    Immortal[] ims = new Immortal[10];
+    for (int i = 0; i < ims.length; i++) {
+      ims[i] = new Immortal("im-" + i, 100, 10, reg, sb, pc, dq);
+      reg.add(ims[i]);
+    }
+    for (int i = 0; i < 7; i++) assertTrue(reg.remove(ims[i]));
+    assertFalse(reg.remove(ims[0]));
+    assertEquals(3, reg.size());
+
+    var seen = new HashSet<Immortal>();
+    for (int k = 0; k < 1000; k++) {
+      Immortal o = reg.sampleOther(ims[9]);
+      assertNotNull(o);
+      assertNotSame(ims[9], o);
+      seen.add(o);
+    }
+    assertEquals(java.util.Set.of(ims[7], ims[8]), seen);
+
+    reg.remove(ims[7]); reg.remove(ims[8]);
+    assertNull(reg.sampleOther(ims[9]));
+  }
+}
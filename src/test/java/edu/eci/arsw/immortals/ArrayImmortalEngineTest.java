@@ -0,0 +1,22 @@
+package edu.eci.arsw.immortals;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ArrayImmortalEngineTest {
+  @Test void keepsInvariantAcrossPauses() throws Exception {
+    try (var e = new ArrayImmortalEngine(10_000, 100, 10, 4, 64)) {
+      e.start();
+      for (int i = 0; i < 3; i++) {
+        Thread.sleep(30);
+        e.pause();
+        assertEquals(e.getExpectedTotalHealth(), e.totalHealth());
+        e.resume();
+      }
+      e.stop();
+      assertTrue(e.getTotalFights() > 0);
+      assertEquals(e.getExpectedTotalHealth(), e.totalHealth());
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package edu.eci.arsw.immortals;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class CheckpointTest {
+  @Test void restoresPausedStateAndKeepsInvariant(@TempDir Path dir) throws Exception {
+    var m = new ImmortalManager(64, "ordered", 30, 10, "virtual");
+    m.start();
+    Thread.sleep(150);
+    Path file = dir.resolve("run.immc");
+    assertTrue(m.checkpoint(file) > 0);
+    assertTrue(m.controller().paused());
+    long total = m.totalHealth();
+    int alive = m.aliveCount();
+    long fights = m.getTotalFights();
+    var names = m.populationSnapshot().stream().map(Immortal::name).sorted().toList();
+    m.stop();
+    // Tras stop() la población está vacía: no se escribe una imagen sin vivos
+    assertThrows(IllegalStateException.class, () -> m.checkpoint(dir.resolve("late.immc")));
+
+    var r = ImmortalManager.restore(file);
+    assertEquals(m.getExpectedTotalHealth(), r.getExpectedTotalHealth());
+    assertEquals(total, r.totalHealth());
+    assertEquals(alive, r.aliveCount());
+    assertEquals(fights, r.getTotalFights());
+    assertEquals(m.getKills(), r.getKills());
+    assertEquals(names, r.populationSnapshot().stream().map(Immortal::name).sorted().toList());
+    assertEquals("ordered", r.getFightMode());
+
+    // La corrida restaurada sigue conservando N×H
+    r.start();
+    Thread.sleep(50);
+    r.pause();
+    assertEquals(r.getExpectedTotalHealth(), r.totalHealth());
+    r.stop();
+  }
+}
@@ -0,0 +1,61 @@
+package edu.eci.arsw.immortals;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class FightJournalTest {
+  @Test void replayRebuildsHealthWrittenFromManyThreads(@TempDir Path dir) throws Exception {
+    int[] start = new int[8];
+    Arrays.fill(start, 1000);
+    Path file = dir.resolve("fights.journal");
+    var j = FightJournal.open(file, start);
+    var threads = new ArrayList<Thread>();
+    for (int t = 0; t < 4; t++) {
+      int attacker = t;
+      threads.add(Thread.ofPlatform().start(() -> {
+        for (int i = 0; i < 5000; i++) j.record(attacker, 4 + (i & 3), 1);
+      }));
+    }
+    for (Thread t : threads) t.join();
+    // Cada atacante ganó 5000; cada víctima perdió 4 × 1250
+    int[] end = {6000, 6000, 6000, 6000, -4000, -4000, -4000, -4000};
+    j.close(end);
+
+    var r = JournalReplay.replay(file);
+    assertEquals(20_000, r.records());
+    assertEquals(0, r.dropped());
+    assertArrayEquals(end, r.health());
+    assertTrue(r.invariantHolds());
+
+    // Un estado final que no cuadra con los traspasos se detecta
+    var k = FightJournal.open(file, start);
+    k.record(0, 1, 10);
+    int[] wrong = start.clone();
+    wrong[0] = 1010;
+    k.close(wrong);
+    var bad = JournalReplay.replay(file);
+    assertEquals(1, bad.mismatches());
+    assertFalse(bad.invariantHolds());
+  }
+
+  @Test void managerJournalReplaysToObservedState(@TempDir Path dir) throws Exception {
+    Path file = dir.resolve("run.journal");
+    var m = new ImmortalManager(32, "ordered", 50, 5, "virtual");
+    m.journalTo(file);
+    m.start();
+    Thread.sleep(200);
+    m.stop();
+
+    var r = JournalReplay.replay(file);
+    assertTrue(r.closed());
+    assertEquals(m.getTotalFights(), r.records());
+    assertEquals(32L * 50, r.expectedTotal());
+    assertTrue(r.invariantHolds(), () -> "mismatches=" + r.mismatches());
+  }
+}
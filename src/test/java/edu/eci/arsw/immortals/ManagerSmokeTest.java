@@ -1,6 +1,9 @@
 package edu.eci.arsw.immortals;
 
 import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 final class ManagerSmokeTest {
@@ -14,4 +17,137 @@ final class ManagerSmokeTest {
     m.stop();
     assertTrue(sum > 0);
   }
+
+  @Test void startsAndStopsOnVirtualThreads() throws Exception {
+    var m = new ImmortalManager(64, "ordered", 100, 10, "virtual");
+    m.start();
+    Thread.sleep(50);
+    m.pause();
+    long sum = m.totalHealth();
+    m.resume();
+    m.stop();
+    assertTrue(sum > 0);
+  }
+
+  @Test void escrowKeepsInvariantWhenPaused() throws Exception {
+    var m = new ImmortalManager(32, "escrow", 30, 10);
+    m.start();
+    for (int i = 0; i < 3; i++) {
+      Thread.sleep(60);
+      m.pause();
+      assertEquals(m.getExpectedTotalHealth(), m.totalHealth());
+      m.resume();
+    }
+    m.stop();
+  }
+
+  @Test void escrowDeathIsFinalForLateAttackers() throws Exception {
+    var m = new ImmortalManager(8, "escrow", 1000, 10);
+    m.start();
+    Thread.sleep(30);
+    assertTrue(m.pause());
+    var live = m.populationSnapshot();
+    Immortal a = live.get(0), v = live.get(1), b = live.get(2), x = live.get(3);
+    // Sin advance() del gate la época vigente sigue siendo 1
+    long e = 1;
+    // v queda a un golpe de morir (se mueve salud a x, el total no cambia)
+    int extra = v.getHealth() - 10;
+    v.addHealth(-extra, e, false);
+    x.addHealth(extra, e, false);
+    // El último golpe de v está a medias: ya debitó a x...
+    assertTrue(x.addHealth(-10, e, true));
+    // ...a lo mata antes del crédito...
+    assertTrue(a.strikeEscrow(v));
+    // ...y el crédito de v llega después: vuelve a salud positiva, pero muerto
+    v.addHealth(10, e, false);
+    assertEquals(10, v.getHealth());
+    // Su hilo termina, se encola y cleanDead() cuenta su salud
+    Thread.sleep(150);
+    m.pause();
+    // b lo había elegido antes de la muerte: su débito ya no debe entrar
+    assertFalse(b.strikeEscrow(v));
+    m.pause();
+    assertEquals(m.getExpectedTotalHealth(), m.totalHealth());
+    m.stop();
+  }
+
+  @Test void liveSnapshotsHoldInvariantWithoutPausing() throws Exception {
+    for (String mode : new String[] {"ordered", "escrow"}) {
+      var m = new ImmortalManager(64, mode, 40, 10, "virtual");
+      m.start();
+      for (int i = 0; i < 20; i++) {
+        Thread.sleep(5);
+        var snap = m.healthSnapshot();
+        assertEquals(snap.expectedHealth(), snap.totalHealth(), mode + " epoch " + snap.epoch());
+      }
+      assertTrue(m.getTotalFights() > 0);
+      m.stop();
+    }
+  }
+
+  @Test void customStrategyIsResolvedByName() throws Exception {
+    var calls = new java.util.concurrent.atomic.AtomicLong();
+    FightStrategies.register("counting", () -> (self, other) -> {
+      calls.incrementAndGet();
+      return new OrderedFight().fight(self, other);
+    });
+    var m = new ImmortalManager(16, "counting", 100, 10, "virtual");
+    m.start();
+    Thread.sleep(50);
+    m.pause();
+    assertEquals(m.getExpectedTotalHealth(), m.totalHealth());
+    m.stop();
+    assertTrue(calls.get() > 0);
+    assertThrows(IllegalArgumentException.class, () -> new ImmortalManager(4, "nope"));
+  }
+
+  @Test void exposesMetricsOverJmx() throws Exception {
+    var server = java.lang.management.ManagementFactory.getPlatformMBeanServer();
+    var m = new ImmortalManager(16, "ordered", 100, 10, "virtual");
+    m.start();
+    var name = m.mbeanName();
+    assertTrue(server.isRegistered(name));
+    Thread.sleep(50);
+    m.checkInvariantLive();
+    assertEquals(16, server.getAttribute(name, "TotalThreads"));
+    assertEquals(true, server.getAttribute(name, "LastInvariantOk"));
+    assertTrue((Long) server.getAttribute(name, "TotalFights") > 0);
+    assertEquals(true, server.invoke(name, "checkInvariantLive", null, null));
+    m.stop();
+    assertFalse(server.isRegistered(name));
+  }
+
+  @Test void asyncCommandsRunInOrderOffTheCaller() throws Exception {
+    var m = ImmortalManager.createAsync(32, "ordered", 100, 10, "virtual").get(10, java.util.concurrent.TimeUnit.SECONDS);
+    var started = m.startAsync();
+    m.pauseAsync().get(10, java.util.concurrent.TimeUnit.SECONDS);
+    assertTrue(started.isDone());
+    assertEquals(m.getExpectedTotalHealth(), m.totalHealth());
+    var snap = m.snapshotAsync();
+    // La suma se toma en el mismo comando que la pausa: el resume encolado detrás no la alcanza
+    var check = m.pauseAndCheckAsync();
+    var resumed = m.resumeAsync();
+    m.stopAsync().get(10, java.util.concurrent.TimeUnit.SECONDS);
+    assertTrue(snap.isDone() && resumed.isDone());
+    assertTrue(snap.get().invariantHolds());
+    assertTrue(check.get().quiescent() && check.get().invariantHolds());
+    assertFalse(check.get().alive().isEmpty());
+    assertFalse(m.isRunning());
+    var after = m.pauseAsync();
+    var ex = assertThrows(java.util.concurrent.ExecutionException.class, after::get);
+    assertTrue(ex.getCause() instanceof java.util.concurrent.RejectedExecutionException);
+  }
+
+  @Test void samplerRecordsWithoutPausing() throws Exception {
+    var m = new ImmortalManager(32, "ordered", 100, 10, "virtual");
+    m.start();
+    try (var sampler = new ManagerSampler(m, 20, 16)) {
+      Thread.sleep(200);
+      var w = sampler.series().window();
+      assertTrue(w.size() >= 3);
+      assertEquals(m.getExpectedTotalHealth(), (long) w.last(ManagerSampler.TOTAL_HEALTH));
+      assertFalse(m.controller().paused());
+    }
+    m.stop();
+  }
 }
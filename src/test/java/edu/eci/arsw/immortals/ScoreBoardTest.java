@@ -0,0 +1,61 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Test;
+
+import edu.eci.arsw.concurrency.PauseController;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class ScoreBoardTest {
+  @Test void aggregatesAcrossThreadsAndImmortals() throws Exception {
+    var reg = new AliveRegistry(8);
+    var sb = new ScoreBoard();
+    var pc = new PauseController();
+    var dq = new ConcurrentLinkedQueue<Immortal>();
+    // Más de un bloque para cubrir el crecimiento
+    Immortal[] ims = new Immortal[5000];
+    for (int i = 0; i < ims.length; i++) ims[i] = new Immortal("im-" + i, 100, 10, reg, sb, pc, dq);
+
+    int threads = 4, perThread = 10_000;
+    Thread[] ts = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      int self = t;
+      ts[t] = new Thread(() -> {
+        for (int k = 0; k < perThread; k++) sb.recordFight(ims[self], ims[4999 - self], 3);
+      }, "fighter-" + t);
+      ts[t].start();
+    }
+    for (Thread t : ts) t.join();
+    sb.recordKill();
+
+    assertEquals((long) threads * perThread, sb.totalFights());
+    assertEquals(1, sb.kills());
+    assertEquals(3L * perThread, sb.damageDealt(ims[0]));
+    assertEquals(3L * perThread, sb.damageReceived(ims[4999]));
+    assertEquals(0, sb.damageDealt(ims[100]));
+    var perThreadFights = sb.fightsPerThread();
+    for (int t = 0; t < threads; t++) assertEquals(perThread, perThreadFights.get("fighter-" + t));
+    var stats = sb.immortalStats();
+    assertEquals(ims.length, stats.size());
+    assertEquals(3L * perThread, stats.get(4998).damageReceived());
+  }
+
+  @Test void cellsOfFinishedThreadsAreFoldedByName() throws Exception {
+    var reg = new AliveRegistry(8);
+    var sb = new ScoreBoard();
+    var pc = new PauseController();
+    var dq = new ConcurrentLinkedQueue<Immortal>();
+    var a = new Immortal("a", 100, 1, reg, sb, pc, dq);
+    var b = new Immortal("b", 100, 1, reg, sb, pc, dq);
+    // Un hilo virtual por pelea, como un inmortal por hilo en varias corridas
+    for (int i = 0; i < 1000; i++) {
+      Thread.ofVirtual().name("short-" + (i % 10)).start(() -> sb.recordFight(a, b, 1)).join();
+    }
+    assertTrue(sb.trackedCells() <= 64, () -> "celdas sin barrer: " + sb.trackedCells());
+    var perThread = sb.fightsPerThread();
+    for (int i = 0; i < 10; i++) assertEquals(100, perThread.get("short-" + i));
+    assertEquals(1000, sb.damageDealt(a));
+  }
+}
@@ -0,0 +1,27 @@
+package edu.eci.arsw.immortals;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TickSimulationTest {
+  @Test void sameSeedSameResultRegardlessOfParallelism() {
+    try (var a = new TickSimulation(20_000, 100, 10, 42L, 1);
+         var b = new TickSimulation(20_000, 100, 10, 42L, 8)) {
+      a.runTicks(50);
+      b.runTicks(50);
+      assertArrayEquals(a.healthSnapshot(), b.healthSnapshot());
+      assertEquals(a.aliveCount(), b.aliveCount());
+      assertTrue(a.checkInvariant());
+      assertTrue(b.checkInvariant());
+    }
+  }
+
+  @Test void differentSeedsDiverge() {
+    try (var a = new TickSimulation(1_000, 100, 10, 1L, 2);
+         var b = new TickSimulation(1_000, 100, 10, 2L, 2)) {
+      a.runTicks(20);
+      b.runTicks(20);
+      assertFalse(java.util.Arrays.equals(a.healthSnapshot(), b.healthSnapshot()));
+    }
+  }
+}